@@ -0,0 +1,27 @@
+package net.matheodrd.bankapi.actuator;
+
+import lombok.RequiredArgsConstructor;
+import net.matheodrd.bankapi.service.AccountStatsService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// POST /actuator/accountstats triggers a full rebuild of the account_stats table
+@Component
+@Endpoint(id = "accountstats")
+@RequiredArgsConstructor
+public class AccountStatsEndpoint {
+
+    private final AccountStatsService accountStatsService;
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long accounts = accountStatsService.rebuild();
+        if (accounts < 0) {
+            return Map.of("status", "ALREADY_RUNNING");
+        }
+        return Map.of("status", "DONE", "accounts", accounts);
+    }
+}
@@ -0,0 +1,27 @@
+package net.matheodrd.bankapi.actuator;
+
+import lombok.RequiredArgsConstructor;
+import net.matheodrd.bankapi.concurrency.OptimisticLockRetry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/hotaccounts lists the accounts with the most optimistic lock conflicts since startup.
+// Per-account figures are kept here rather than as metric tags, which would create one time series per account.
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotAccountsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final OptimisticLockRetry optimisticLockRetry;
+
+    @ReadOperation
+    public List<OptimisticLockRetry.HotAccount> hotAccounts(@Nullable Integer limit) {
+        return optimisticLockRetry.hotAccounts(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
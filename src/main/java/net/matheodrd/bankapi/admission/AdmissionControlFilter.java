@@ -0,0 +1,168 @@
+package net.matheodrd.bankapi.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.AdmissionControlProperties;
+import net.matheodrd.bankapi.exception.ServiceOverloadedException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToDoubleFunction;
+
+// Admits /api requests within the adaptive limit of their pool (reads or writes) and answers the rest
+// with 503 straight away, so an overloaded database makes requests fail fast instead of queueing until they time out.
+// Bulk and streaming endpoints hold their slot for minutes: they have a fixed pool and give no latency samples,
+// otherwise one import would cut the write limit for everyone.
+// Rejections go through the exception resolver to get the same error body as the controllers.
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit writes;
+    private final AdaptiveConcurrencyLimit reads;
+    private final Semaphore bulk;
+    private final Set<String> bulkPaths;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Counter writeRejections;
+    private final Counter readRejections;
+    private final Counter bulkRejections;
+
+    public AdmissionControlFilter(
+            AdmissionControlProperties properties,
+            HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry
+    ) {
+        AdmissionControlProperties.Writes w = properties.writes();
+        AdmissionControlProperties.Reads r = properties.reads();
+        this.writes = new AdaptiveConcurrencyLimit(w.initialLimit(), w.minLimit(), w.maxLimit(),
+                w.latencyThreshold(), properties.backoffRatio());
+        this.reads = new AdaptiveConcurrencyLimit(r.initialLimit(), r.minLimit(), r.maxLimit(),
+                r.latencyThreshold(), properties.backoffRatio());
+        this.bulk = new Semaphore(properties.bulk().maxConcurrent());
+        this.bulkPaths = Set.copyOf(properties.bulk().paths());
+        this.exceptionResolver = exceptionResolver;
+        this.writeRejections = bindMetrics(meterRegistry, "writes", writes, AdaptiveConcurrencyLimit::limit,
+                AdaptiveConcurrencyLimit::inFlight);
+        this.readRejections = bindMetrics(meterRegistry, "reads", reads, AdaptiveConcurrencyLimit::limit,
+                AdaptiveConcurrencyLimit::inFlight);
+        int bulkLimit = properties.bulk().maxConcurrent();
+        this.bulkRejections = bindMetrics(meterRegistry, "bulk", bulk, semaphore -> bulkLimit,
+                semaphore -> bulkLimit - semaphore.availablePermits());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (bulkPaths.contains(request.getRequestURI().substring(request.getContextPath().length()))) {
+            filterBulk(request, response, chain);
+            return;
+        }
+
+        boolean write = isWrite(request);
+        AdaptiveConcurrencyLimit limit = write ? writes : reads;
+
+        if (!limit.tryAcquire()) {
+            (write ? writeRejections : readRejections).increment();
+            log.debug("Shedding {} {}: {} requests in flight", request.getMethod(), request.getRequestURI(), limit.inFlight());
+            shed(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming exports: the slot is held until the stream ends, but a stream's duration is not a latency sample
+                request.getAsyncContext().addListener(new ReleasingListener(limit::release));
+            } else {
+                limit.release(System.nanoTime() - start, failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private void filterBulk(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!bulk.tryAcquire()) {
+            bulkRejections.increment();
+            log.debug("Shedding {} {}: bulk pool full", request.getMethod(), request.getRequestURI());
+            shed(request, response);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(bulk::release));
+            } else {
+                bulk.release();
+            }
+        }
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response) {
+        exceptionResolver.resolveException(request, response, null,
+                new ServiceOverloadedException("Service overloaded, retry later"));
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> false;
+            default -> true;
+        };
+    }
+
+    private static <T> Counter bindMetrics(
+            MeterRegistry meterRegistry,
+            String pool,
+            T limit,
+            ToDoubleFunction<T> currentLimit,
+            ToDoubleFunction<T> inFlight
+    ) {
+        Gauge.builder("bank.admission.limit", limit, currentLimit)
+                .description("Current concurrency limit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("bank.admission.inflight", limit, inFlight)
+                .description("Requests currently admitted")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        return Counter.builder("bank.admission.rejected")
+                .description("Requests shed with 503 because the concurrency limit was reached")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package net.matheodrd.bankapi.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Orders work per account inside this instance: operations on the same account run one after the other,
+// operations on accounts mapped to different stripes run in parallel
+@Component
+public class AccountLockStripes {
+
+    private final ReentrantLock[] locks;
+    private final LongAdder[] acquisitions;
+    private final LongAdder[] contentions;
+    private final LongAdder[] waitNanos;
+    private final int mask;
+
+    public AccountLockStripes(AccountLockProperties properties, MeterRegistry meterRegistry) {
+        int stripes = 1;
+        while (stripes < properties.stripes()) {
+            stripes <<= 1;
+        }
+
+        this.locks = new ReentrantLock[stripes];
+        this.acquisitions = new LongAdder[stripes];
+        this.contentions = new LongAdder[stripes];
+        this.waitNanos = new LongAdder[stripes];
+        this.mask = stripes - 1;
+
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock(properties.fair());
+            acquisitions[i] = new LongAdder();
+            contentions[i] = new LongAdder();
+            waitNanos[i] = new LongAdder();
+            registerMetrics(meterRegistry, i);
+        }
+    }
+
+    public <T> T withLock(UUID accountId, Supplier<T> action) {
+        int stripe = stripeOf(accountId);
+        acquire(stripe);
+        try {
+            return action.get();
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    public <T> T withLocks(Collection<UUID> accountIds, Supplier<T> action) {
+        // Stripes are always taken in ascending order so that multi-account callers cannot deadlock
+        int[] stripes = accountIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                acquire(stripe);
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    int stripeOf(UUID accountId) {
+        int hash = accountId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        // Only used for metrics, so the race with the owner releasing the lock is acceptable
+        boolean contended = lock.isLocked() && !lock.isHeldByCurrentThread();
+
+        long start = System.nanoTime();
+        lock.lock();
+
+        acquisitions[stripe].increment();
+        if (contended) {
+            contentions[stripe].increment();
+            waitNanos[stripe].add(System.nanoTime() - start);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry, int stripe) {
+        Tags tags = Tags.of("stripe", Integer.toString(stripe));
+
+        FunctionCounter.builder("bank.account.lock.acquisitions", acquisitions[stripe], LongAdder::sum)
+                .tags(tags)
+                .description("Number of times the stripe was acquired")
+                .register(meterRegistry);
+
+        FunctionTimer.builder("bank.account.lock.contended",
+                        this,
+                        stripes -> stripes.contentions[stripe].sum(),
+                        stripes -> stripes.waitNanos[stripe].sum(),
+                        TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Acquisitions that had to wait for another thread, and the time spent waiting")
+                .register(meterRegistry);
+
+        Gauge.builder("bank.account.lock.queued", locks[stripe], ReentrantLock::getQueueLength)
+                .tags(tags)
+                .description("Threads currently waiting for the stripe")
+                .register(meterRegistry);
+    }
+}
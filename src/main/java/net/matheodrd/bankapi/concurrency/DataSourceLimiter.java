@@ -0,0 +1,37 @@
+package net.matheodrd.bankapi.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.matheodrd.bankapi.config.DataSourceLimiterProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Puts a BoundedDataSource in front of each Hikari pool where the pool is created: the primary through
+// VirtualThreadConfig, the replicas in ReadReplicaConfig. Binds the limiter metrics of every pool, tagged by pool name.
+public class DataSourceLimiter implements MeterBinder {
+
+    private final DataSourceLimiterProperties properties;
+    private final List<BoundedDataSource> limited = new ArrayList<>();
+    private final List<MeterRegistry> registries = new ArrayList<>();
+
+    public DataSourceLimiter(DataSourceLimiterProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized BoundedDataSource limit(String pool, HikariDataSource dataSource) {
+        int maxConcurrency = properties.maxConcurrency() > 0 ? properties.maxConcurrency() : dataSource.getMaximumPoolSize();
+        BoundedDataSource bounded = new BoundedDataSource(dataSource, pool, maxConcurrency, properties.acquireTimeout());
+        limited.add(bounded);
+        // Pools created after the metrics were bound
+        registries.forEach(bounded::bindTo);
+        return bounded;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        registries.add(registry);
+        limited.forEach(bounded -> bounded.bindTo(registry));
+    }
+}
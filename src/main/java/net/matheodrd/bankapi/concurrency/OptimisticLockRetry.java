@@ -0,0 +1,151 @@
+package net.matheodrd.bankapi.concurrency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.OptimisticRetryProperties;
+import net.matheodrd.bankapi.exception.ConcurrentUpdateException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Re-runs a database transaction that lost an optimistic lock (Account.version) with jittered exponential backoff.
+// The action must open its own transaction: retrying inside a caller's transaction would reuse a rolled-back one.
+@Component
+@Slf4j
+public class OptimisticLockRetry {
+
+    private static final long TOKEN = 1000;
+
+    private final OptimisticRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> conflicts = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exhausted = new ConcurrentHashMap<>();
+
+    // Retry budget in thousandths of a retry
+    private final AtomicLong budget;
+    private final long budgetCapacity;
+    private final long budgetDeposit;
+
+    private final Cache<UUID, AccountConflicts> perAccount;
+
+    public OptimisticLockRetry(OptimisticRetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budgetCapacity = properties.budgetCapacity() * TOKEN;
+        this.budgetDeposit = Math.round(properties.budgetRatio() * TOKEN);
+        this.budget = new AtomicLong(budgetCapacity);
+        this.perAccount = Caffeine.newBuilder()
+                .maximumSize(properties.trackedAccounts())
+                .build();
+
+        Gauge.builder("bank.optimistic.retry.budget", budget, tokens -> (double) tokens.get() / TOKEN)
+                .description("Retries currently available in the optimistic lock retry budget")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, UUID accountId, Supplier<T> action) {
+        deposit();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                counter(conflicts, "bank.optimistic.conflicts", operation).increment();
+                AccountConflicts account = perAccount.get(accountId, id -> new AccountConflicts());
+                account.conflicts.increment();
+
+                if (attempt >= properties.maxAttempts() || !withdraw()) {
+                    counter(exhausted, "bank.optimistic.exhausted", operation).increment();
+                    account.exhausted.increment();
+                    log.warn("Giving up {} on account {} after {} attempts", operation, accountId, attempt);
+                    throw new ConcurrentUpdateException(
+                            "Account " + accountId + " is being modified concurrently, please retry", e);
+                }
+
+                counter(retries, "bank.optimistic.retries", operation).increment();
+                account.retries.increment();
+                backoff(attempt, accountId, e);
+            }
+        }
+    }
+
+    // Accounts with the most conflicts first
+    public List<HotAccount> hotAccounts(int limit) {
+        return perAccount.asMap().entrySet().stream()
+                .map(entry -> new HotAccount(
+                        entry.getKey(),
+                        entry.getValue().conflicts.sum(),
+                        entry.getValue().retries.sum(),
+                        entry.getValue().exhausted.sum()
+                ))
+                .sorted(Comparator.comparingLong(HotAccount::conflicts).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void deposit() {
+        budget.accumulateAndGet(budgetDeposit, (tokens, deposit) -> Math.min(budgetCapacity, tokens + deposit));
+    }
+
+    private boolean withdraw() {
+        long tokens;
+        do {
+            tokens = budget.get();
+            if (tokens < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(tokens, tokens - TOKEN));
+        return true;
+    }
+
+    private void backoff(int attempt, UUID accountId, RuntimeException conflict) {
+        long cap = Math.min(
+                properties.maxBackoff().toNanos(),
+                properties.initialBackoff().toNanos() << Math.min(attempt - 1, 20)
+        );
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying an update of account " + accountId, conflict);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder(name)
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+
+    public record HotAccount(UUID accountId, long conflicts, long retries, long exhausted) {
+    }
+
+    private static final class AccountConflicts {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.transactions.account-lock")
+public record AccountLockProperties(
+        // Rounded up to the next power of two
+        @DefaultValue("256") int stripes,
+        // Fair stripes hand the lock over in arrival order
+        @DefaultValue("true") boolean fair
+) {
+}
@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.accounts.onboarding")
+public record AccountOnboardingProperties(
+        // Accounts sent per COPY and committed per database transaction, results are streamed back after each chunk
+        @DefaultValue("5000") int chunkSize
+) {
+}
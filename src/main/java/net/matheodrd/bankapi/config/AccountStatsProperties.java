@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.account-stats")
+public record AccountStatsProperties(
+        // Accounts recomputed per database transaction by the rebuild
+        @DefaultValue("500") int rebuildChunkSize
+) {
+}
@@ -0,0 +1,47 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Concurrency limits on /api requests, one for writes and one for reads so reads keep working when writes shed.
+// A limit grows by one per fully used window of requests faster than latency-threshold,
+// and is multiplied by backoff-ratio for each slower or failed request (AIMD).
+// Bulk and streaming endpoints run for minutes, so they get a fixed pool of their own and never move the limits.
+@ConfigurationProperties(prefix = "bank.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue Writes writes,
+        @DefaultValue Reads reads,
+        @DefaultValue Bulk bulk
+) {
+    public record Writes(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("250ms") Duration latencyThreshold
+    ) {
+    }
+
+    public record Reads(
+            @DefaultValue("50") int initialLimit,
+            @DefaultValue("10") int minLimit,
+            @DefaultValue("400") int maxLimit,
+            @DefaultValue("150ms") Duration latencyThreshold
+    ) {
+    }
+
+    public record Bulk(
+            @DefaultValue("4") int maxConcurrent,
+            @DefaultValue({
+                    "/api/v1/transactions/batch",
+                    "/api/v1/transactions/import",
+                    "/api/v1/transactions/export",
+                    "/api/v1/accounts/import"
+            }) List<String> paths
+    ) {
+    }
+}
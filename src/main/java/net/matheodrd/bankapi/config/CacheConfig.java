@@ -0,0 +1,10 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache provider and specs are set under spring.cache, spring.cache.type: none turns caching off
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,15 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Only used when spring.threads.virtual.enabled is true, see VirtualThreadConfig
+@ConfigurationProperties(prefix = "bank.datasource.limiter")
+public record DataSourceLimiterProperties(
+        // Concurrent connection holders, 0 uses the Hikari maximum pool size
+        @DefaultValue("0") int maxConcurrency,
+        @DefaultValue("30s") Duration acquireTimeout
+) {
+}
@@ -0,0 +1,19 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.holds")
+public record HoldProperties(
+        // Used when the request does not say when the hold expires
+        @DefaultValue("7d") Duration defaultTtl,
+        @DefaultValue("30d") Duration maxTtl,
+        @DefaultValue("PT10S") Duration sweepInterval,
+        // Expired holds released per database transaction
+        @DefaultValue("500") int sweepBatchSize,
+        // The bank.holds.active gauge counts every active hold, so it is refreshed much less often than the sweep
+        @DefaultValue("PT5M") Duration activeCountInterval
+) {
+}
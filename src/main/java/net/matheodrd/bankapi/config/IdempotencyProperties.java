@@ -0,0 +1,15 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.idempotency")
+public record IdempotencyProperties(
+        // Maximum number of responses kept in memory
+        @DefaultValue("100000") int cacheSize,
+        // How long keys are kept in the database
+        @DefaultValue("24h") Duration retention
+) {
+}
@@ -0,0 +1,22 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.transactions.optimistic-retry")
+public record OptimisticRetryProperties(
+        // Including the first attempt
+        @DefaultValue("4") int maxAttempts,
+        // Backoff before retry n is random between 0 and min(initialBackoff * 2^(n-1), maxBackoff)
+        @DefaultValue("5ms") Duration initialBackoff,
+        @DefaultValue("100ms") Duration maxBackoff,
+        // Each call adds budgetRatio retries to the budget, up to budgetCapacity, so that under heavy
+        // contention retries stay a bounded fraction of the traffic
+        @DefaultValue("0.2") double budgetRatio,
+        @DefaultValue("100") int budgetCapacity,
+        // Accounts tracked for the hotaccounts endpoint
+        @DefaultValue("10000") int trackedAccounts
+) {
+}
@@ -0,0 +1,36 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Token buckets on transaction creation: rate is the sustained number of requests per second,
+// burst the number accepted at once after a quiet period
+@ConfigurationProperties(prefix = "bank.rate-limit.transactions")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue PerAccount perAccount,
+        @DefaultValue PerClient perClient,
+        // Clients are identified by their authenticated principal, otherwise by their address.
+        // This header is only trusted on requests coming from one of trusted-proxies, which must set it themselves.
+        @DefaultValue("X-Client-Id") String clientHeader,
+        @DefaultValue List<String> trustedProxies,
+        // Buckets kept per limiter, least recently used ones are dropped first
+        @DefaultValue("100000") int maxBuckets,
+        // A bucket idle for this long is full again, so it can be dropped
+        @DefaultValue("10m") Duration idleTimeout
+) {
+    public record PerAccount(
+            @DefaultValue("20") double rate,
+            @DefaultValue("40") int burst
+    ) {
+    }
+
+    public record PerClient(
+            @DefaultValue("200") double rate,
+            @DefaultValue("400") int burst
+    ) {
+    }
+}
@@ -0,0 +1,68 @@
+package net.matheodrd.bankapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.matheodrd.bankapi.concurrency.DataSourceLimiter;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.datasource.ReadReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured data source when bank.datasource.read-replicas.enabled is true.
+// The primary keeps the spring.datasource settings, @Transactional(readOnly = true) work goes to the replicas.
+@Configuration
+@ConditionalOnProperty(prefix = "bank.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReadReplicaProperties properties,
+            ReadConsistency readConsistency,
+            ObjectProvider<DataSourceLimiter> dataSourceLimiter,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.replicas().isEmpty()) {
+            throw new IllegalStateException("bank.datasource.read-replicas.replicas must list at least one replica");
+        }
+
+        // Only in virtual thread mode
+        DataSourceLimiter limiter = dataSourceLimiter.getIfAvailable();
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(limiter != null ? limiter.limit(dataSource.getPoolName(), dataSource) : dataSource);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, properties, readConsistency, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
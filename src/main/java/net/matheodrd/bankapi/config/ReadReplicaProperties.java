@@ -0,0 +1,33 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "bank.datasource.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("round-robin") Balancing balancing,
+        // Replicas further behind the primary than this are skipped until they catch up
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("2s") Duration lagCheckInterval,
+        // Reads of an account go to the primary for this long after it was written, 0 disables
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
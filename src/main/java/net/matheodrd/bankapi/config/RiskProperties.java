@@ -0,0 +1,44 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.risk")
+public record RiskProperties(
+        // Transactions scoring strictly above this value are flagged
+        @DefaultValue("70") int flagThreshold,
+        @DefaultValue Rules rules
+) {
+    public record Rules(
+            @DefaultValue HighAmount highAmount,
+            @DefaultValue NightTime nightTime,
+            @DefaultValue Velocity velocity
+    ) {
+    }
+
+    public record HighAmount(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") BigDecimal threshold,
+            @DefaultValue("30") int points
+    ) {
+    }
+
+    public record NightTime(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("23") int startHour,
+            @DefaultValue("6") int endHour,
+            @DefaultValue("20") int points
+    ) {
+    }
+
+    public record Velocity(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1h") Duration window,
+            @DefaultValue("5") int minTransactions,
+            @DefaultValue("40") int points
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.risk.scoring")
+public record RiskScoringProperties(
+        // sync: transactions are scored before the response, async: they are stored as PENDING and scored in background
+        @DefaultValue("sync") Mode mode,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("2") int workers,
+        @DefaultValue("200") int batchSize,
+        // PENDING transactions older than this are picked up again by the recovery sweep
+        @DefaultValue("30s") Duration sweepMinAge
+) {
+    public enum Mode {
+        SYNC,
+        ASYNC
+    }
+
+    public boolean async() {
+        return mode == Mode.ASYNC;
+    }
+}
@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.transactions.batch")
+public record TransactionBatchProperties(
+        // Number of items persisted per database transaction
+        @DefaultValue("500") int chunkSize
+) {
+}
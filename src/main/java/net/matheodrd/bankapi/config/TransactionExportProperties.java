@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.transactions.export")
+public record TransactionExportProperties(
+        // Rows fetched per round trip by the export cursor
+        @DefaultValue("1000") int fetchSize
+) {
+}
@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.transactions.import")
+public record TransactionImportProperties(
+        // Rows sent per COPY and committed per database transaction, the only rows held in memory
+        @DefaultValue("20000") int chunkSize
+) {
+}
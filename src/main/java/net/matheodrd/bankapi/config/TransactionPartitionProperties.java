@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "bank.transactions.partitions")
+public record TransactionPartitionProperties(
+        // Monthly partitions created ahead of the current month
+        @DefaultValue("3") int monthsAhead,
+        // Months kept attached before the current one, 0 keeps every partition
+        @DefaultValue("0") int retentionMonths
+) {
+}
@@ -0,0 +1,14 @@
+package net.matheodrd.bankapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "bank.risk.velocity")
+public record VelocityProperties(
+        // How much history the in-memory counters keep, at one-minute resolution
+        @DefaultValue("60m") Duration history,
+        @DefaultValue("true") boolean rebuildOnStartup
+) {
+}
@@ -0,0 +1,38 @@
+package net.matheodrd.bankapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.matheodrd.bankapi.concurrency.DataSourceLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+
+// spring.threads.virtual.enabled runs Tomcat requests, MVC async work and @Scheduled tasks on virtual threads.
+// Database access is then bounded by BoundedDataSource instead of by the request thread pool.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    DataSourceLimiter dataSourceLimiter(DataSourceLimiterProperties properties) {
+        return new DataSourceLimiter(properties);
+    }
+
+    // Pools declared as beans, the replica pools are limited in ReadReplicaConfig
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(ObjectProvider<DataSourceLimiter> limiter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                return limiter.getObject().limit(Objects.requireNonNullElse(hikari.getPoolName(), beanName), hikari);
+            }
+        };
+    }
+}
@@ -14,17 +14,25 @@ import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
 import net.matheodrd.bankapi.dto.request.UpdateAccountStatusRequest;
 import net.matheodrd.bankapi.dto.response.AccountDetailResponse;
 import net.matheodrd.bankapi.dto.response.AccountResponse;
+import net.matheodrd.bankapi.dto.response.CursorPageResponse;
 import net.matheodrd.bankapi.dto.response.PageResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.service.AccountOnboardingService;
 import net.matheodrd.bankapi.service.AccountService;
 import net.matheodrd.bankapi.service.TransactionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.UUID;
 
@@ -36,6 +44,7 @@ import java.util.UUID;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountOnboardingService accountOnboardingService;
     private final TransactionService transactionService;
 
     @GetMapping
@@ -99,6 +108,35 @@ public class AccountController {
         return ResponseEntity.created(location).body(createdAccount);
     }
 
+    @PostMapping("/import")
+    @Operation(
+            summary = "Open accounts in bulk",
+            description = "Stream CreateAccountRequests (with an optional reference) as NDJSON or CSV and get back, " +
+                    "in the same format and order, the new account id and number of each row or why it was refused. " +
+                    "Accounts are inserted with COPY by chunks, results are streamed as each chunk is committed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results streamed, one per input row")
+    })
+    public ResponseEntity<StreamingResponseBody> importAccounts(
+            @Parameter(description = "Input and output format (NDJSON/CSV)")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            InputStream body
+    ) {
+        log.info("POST /api/v1/accounts/import - Format: {}", format);
+
+        StreamingResponseBody results = out -> accountOnboardingService.onboard(format, body, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("accounts." + format.extension())
+                        .build()
+                        .toString())
+                .body(results);
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update account status", description = "Change the status of an account (ACTIVE, SUSPENDED, CLOSED)")
     @ApiResponses(value = {
@@ -139,6 +177,32 @@ public class AccountController {
         return ResponseEntity.ok(PageResponse.from(transactions));
     }
 
+    @GetMapping("/{id}/transactions/scroll")
+    @Operation(
+            summary = "Scroll through account transactions",
+            description = "Cursor-based listing of an account's transactions, newest first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> scrollAccountTransactions(
+            @Parameter(description = "Account UUID")
+            @PathVariable UUID id,
+
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also count all transactions of the account (slower)")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        log.debug("GET /api/v1/accounts/{}/transactions/scroll - size: {}", id, size);
+
+        return ResponseEntity.ok(transactionService.scrollByAccountId(id, cursor, size, withTotal));
+    }
+
     private Pageable createPageable(int page, int size, String sortParam) {
         String[] sortParts = sortParam.split(",");
         String field = sortParts[0];
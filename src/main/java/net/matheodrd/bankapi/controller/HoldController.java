@@ -0,0 +1,108 @@
+package net.matheodrd.bankapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.dto.request.CaptureHoldRequest;
+import net.matheodrd.bankapi.dto.request.CreateHoldRequest;
+import net.matheodrd.bankapi.dto.response.HoldResponse;
+import net.matheodrd.bankapi.ratelimit.TransactionRateLimiter;
+import net.matheodrd.bankapi.service.HoldService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Holds", description = "Authorization holds: reserve funds, then capture or release them")
+public class HoldController {
+
+    private final HoldService holdService;
+    private final TransactionRateLimiter rateLimiter;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get hold by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold found"),
+            @ApiResponse(responseCode = "404", description = "Hold not found")
+    })
+    public ResponseEntity<HoldResponse> getHoldById(
+            @Parameter(description = "Hold ID") @PathVariable UUID id
+    ) {
+        return ResponseEntity.ok(holdService.findById(id));
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Place a hold",
+            description = "Reserve funds on an account. The balance is unchanged but the available balance is reduced " +
+                    "until the hold is captured, released or expires."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Hold placed",
+                    content = @Content(schema = @Schema(implementation = HoldResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid request, expiry or insufficient available balance"),
+            @ApiResponse(responseCode = "403", description = "Account suspended"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "429", description = "Too many transactions for the account or from the client, see Retry-After")
+    })
+    public ResponseEntity<HoldResponse> placeHold(
+            @Valid @RequestBody CreateHoldRequest request,
+
+            HttpServletRequest httpRequest
+    ) {
+        log.info("POST /api/v1/holds - Holding {} on account {}", request.amount(), request.accountId());
+
+        // Charged when placed, the debit of a capture is bounded by the holds placed
+        rateLimiter.check(httpRequest, request.accountId());
+
+        HoldResponse hold = holdService.place(request);
+        return ResponseEntity.created(URI.create("/api/v1/holds/" + hold.id())).body(hold);
+    }
+
+    @PostMapping("/{id}/capture")
+    @Operation(
+            summary = "Capture a hold",
+            description = "Debit the held funds, or part of them (the remainder is released)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured"),
+            @ApiResponse(responseCode = "400", description = "Amount above the held amount"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "409", description = "Hold already captured, released or expired")
+    })
+    public ResponseEntity<HoldResponse> captureHold(
+            @Parameter(description = "Hold ID") @PathVariable UUID id,
+            @Valid @RequestBody(required = false) CaptureHoldRequest request
+    ) {
+        log.info("POST /api/v1/holds/{}/capture", id);
+        return ResponseEntity.ok(holdService.capture(id, request != null ? request : new CaptureHoldRequest(null)));
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release a hold", description = "Give the held funds back to the available balance.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "409", description = "Hold already captured, released or expired")
+    })
+    public ResponseEntity<HoldResponse> releaseHold(@Parameter(description = "Hold ID") @PathVariable UUID id) {
+        log.info("POST /api/v1/holds/{}/release", id);
+        return ResponseEntity.ok(holdService.release(id));
+    }
+}
@@ -7,22 +7,37 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.dto.request.CreateTransactionBatchRequest;
 import net.matheodrd.bankapi.dto.request.CreateTransactionRequest;
+import net.matheodrd.bankapi.dto.response.BatchTransactionResponse;
+import net.matheodrd.bankapi.dto.response.CursorPageResponse;
 import net.matheodrd.bankapi.dto.response.PageResponse;
+import net.matheodrd.bankapi.dto.response.TransactionImportResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.export.ExportFormat;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
 import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.ratelimit.TransactionRateLimiter;
+import net.matheodrd.bankapi.service.TransactionExportService;
+import net.matheodrd.bankapi.service.TransactionImportService;
 import net.matheodrd.bankapi.service.TransactionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -35,6 +50,9 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionRateLimiter rateLimiter;
 
     @GetMapping
     @Operation(summary = "Get all transactions", description = "Retrieve a paginated and filtered list of transactions")
@@ -74,6 +92,97 @@ public class TransactionController {
         return ResponseEntity.ok(PageResponse.from(transactions));
     }
 
+    @GetMapping("/scroll")
+    @Operation(
+            summary = "Scroll through transactions",
+            description = "Cursor-based listing ordered by timestamp, newest first. Pass nextCursor back as cursor to get the next page; " +
+                    "the cost of a page does not depend on its depth."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved transactions"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters or cursor")
+    })
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> scrollTransactions(
+            @Parameter(description = "Filter by account ID")
+            @RequestParam(required = false) UUID accountId,
+
+            @Parameter(description = "Filter by status")
+            @RequestParam(required = false) TransactionStatus status,
+
+            @Parameter(description = "Filter by type (DEBIT/CREDIT)")
+            @RequestParam(required = false) TransactionType type,
+
+            @Parameter(description = "Filter from date (ISO format: 2025-01-01T10:00:00)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+
+            @Parameter(description = "Filter to date (ISO format: 2025-01-31T23:59:59)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also count all matching transactions (slower)")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        log.debug("GET /api/v1/transactions/scroll - Filters: accountId={}, status={}, type={}, fromDate={}, toDate={}",
+                accountId, status, type, fromDate, toDate);
+
+        return ResponseEntity.ok(transactionService.scrollByFilters(
+                accountId, status, type, fromDate, toDate, cursor, size, withTotal
+        ));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export transactions",
+            description = "Stream every transaction matching the filters as NDJSON or CSV, oldest first. " +
+                    "Rows are written as they are read, so exports of any size use constant memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "Filter by account ID")
+            @RequestParam(required = false) UUID accountId,
+
+            @Parameter(description = "Filter by status")
+            @RequestParam(required = false) TransactionStatus status,
+
+            @Parameter(description = "Filter by type (DEBIT/CREDIT)")
+            @RequestParam(required = false) TransactionType type,
+
+            @Parameter(description = "Filter from date (ISO format: 2025-01-01T10:00:00)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+
+            @Parameter(description = "Filter to date (ISO format: 2025-01-31T23:59:59)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+
+            @Parameter(description = "Output format (NDJSON/CSV)")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        log.info("GET /api/v1/transactions/export - Format: {}, filters: accountId={}, status={}, type={}, fromDate={}, toDate={}",
+                format, accountId, status, type, fromDate, toDate);
+
+        StreamingResponseBody body = out -> transactionExportService.export(
+                accountId, status, type, fromDate, toDate, format, out
+        );
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + format.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get transaction by ID", description = "Retrieve details of a specific transaction")
     @ApiResponses(value = {
@@ -93,7 +202,8 @@ public class TransactionController {
     @PostMapping
     @Operation(
             summary = "Create a new transaction",
-            description = "Create a new transaction. The risk score is calculated automatically and the transaction may be flagged."
+            description = "Create a new transaction. The risk score is calculated automatically and the transaction may be flagged. " +
+                    "When risk scoring runs asynchronously the transaction is returned as PENDING with 202 and scored shortly after."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -101,22 +211,100 @@ public class TransactionController {
                     description = "Transaction created successfully",
                     content = @Content(schema = @Schema(implementation = TransactionResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Transaction accepted as PENDING, risk scoring in progress",
+                    content = @Content(schema = @Schema(implementation = TransactionResponse.class))
+            ),
             @ApiResponse(responseCode = "400", description = "Invalid request or insufficient balance"),
             @ApiResponse(responseCode = "403", description = "Account suspended"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request"),
+            @ApiResponse(responseCode = "429", description = "Too many transactions for the account or from the client, see Retry-After")
     })
     public ResponseEntity<TransactionResponse> createTransaction(
-            @Valid @RequestBody CreateTransactionRequest request
+            @Parameter(description = "Client-generated key; retries with the same key return the original transaction")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+
+            @Valid @RequestBody CreateTransactionRequest request,
+
+            HttpServletRequest httpRequest
     ) {
         log.info("POST /api/v1/transactions - Creating {} transaction of {} for account {}",
                 request.type(), request.amount(), request.accountId());
 
-        TransactionResponse createdTransaction = transactionService.create(request);
+        rateLimiter.check(httpRequest, request.accountId());
+
+        TransactionResponse createdTransaction = transactionService.create(request, idempotencyKey);
 
         URI location = URI.create("/api/v1/transactions/" + createdTransaction.id());
+        if (createdTransaction.status() == TransactionStatus.PENDING) {
+            return ResponseEntity.accepted().location(location).body(createdTransaction);
+        }
         return ResponseEntity.created(location).body(createdTransaction);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create transactions in batch",
+            description = "Validate, risk-score and persist a list of transactions in chunks. " +
+                    "Each item is reported individually so that rejected items can be resubmitted on their own."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(schema = @Schema(implementation = BatchTransactionResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "429", description = "Too many transactions for an account or from the client, see Retry-After")
+    })
+    public ResponseEntity<BatchTransactionResponse> createTransactionBatch(
+            @Valid @RequestBody CreateTransactionBatchRequest request,
+
+            HttpServletRequest httpRequest
+    ) {
+        log.info("POST /api/v1/transactions/batch - Creating {} transactions", request.transactions().size());
+
+        rateLimiter.check(httpRequest, request.transactions().stream().map(CreateTransactionRequest::accountId).toList());
+
+        BatchTransactionResponse response = transactionService.createBatch(request.transactions());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/import")
+    @Operation(
+            summary = "Import historical transactions",
+            description = "Stream NDJSON or CSV in the export format into the database with COPY, chunk by chunk. " +
+                    "Rows keep their status and risk score unless rescore is set, and balances and account " +
+                    "aggregates are updated with each chunk. Memory use does not depend on the size of the input."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import completed",
+                    content = @Content(schema = @Schema(implementation = TransactionImportResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid row, unknown account, currency mismatch or already stored id; earlier chunks stay imported and the message gives the skip value to resume with")
+    })
+    public ResponseEntity<TransactionImportResponse> importTransactions(
+            @Parameter(description = "Input format (NDJSON/CSV)")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+
+            @Parameter(description = "Score every row again instead of keeping the imported risk score and status")
+            @RequestParam(defaultValue = "false") boolean rescore,
+
+            @Parameter(description = "Rows to leave out at the start of the input, to resume a failed import")
+            @RequestParam(defaultValue = "0") long skip,
+
+            InputStream body
+    ) throws IOException {
+        log.info("POST /api/v1/transactions/import - Format: {}, rescore: {}, skip: {}", format, rescore, skip);
+
+        TransactionImportResponse response = transactionImportService.importTransactions(format, body, rescore, skip);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/flagged")
     @Operation(
             summary = "Get flagged transactions",
@@ -136,4 +324,27 @@ public class TransactionController {
 
         return ResponseEntity.ok(PageResponse.from(flaggedTransactions));
     }
+
+    @GetMapping("/flagged/scroll")
+    @Operation(
+            summary = "Scroll through flagged transactions",
+            description = "Cursor-based listing of flagged transactions ordered by risk score, highest first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved flagged transactions"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> scrollFlaggedTransactions(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also count all flagged transactions (slower)")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        log.debug("GET /api/v1/transactions/flagged/scroll - size: {}", size);
+
+        return ResponseEntity.ok(transactionService.scrollFlagged(cursor, size, withTotal));
+    }
 }
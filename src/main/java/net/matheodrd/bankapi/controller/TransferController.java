@@ -0,0 +1,67 @@
+package net.matheodrd.bankapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.dto.request.CreateTransferRequest;
+import net.matheodrd.bankapi.dto.response.TransferResponse;
+import net.matheodrd.bankapi.ratelimit.TransactionRateLimiter;
+import net.matheodrd.bankapi.service.TransferService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/transfers")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Transfers", description = "Transfers between accounts")
+public class TransferController {
+
+    private final TransferService transferService;
+    private final TransactionRateLimiter rateLimiter;
+
+    @PostMapping
+    @Operation(
+            summary = "Transfer between two accounts",
+            description = "Debit the source account and credit the destination account atomically. " +
+                    "Both legs are stored as TRANSFER transactions and share the risk score of the transfer: " +
+                    "a flagged transfer is recorded without moving money."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Transfer created",
+                    content = @Content(schema = @Schema(implementation = TransferResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid request, same account, currency mismatch or insufficient balance"),
+            @ApiResponse(responseCode = "403", description = "Account suspended"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "429", description = "Too many transactions for an account or from the client, see Retry-After")
+    })
+    public ResponseEntity<TransferResponse> createTransfer(
+            @Valid @RequestBody CreateTransferRequest request,
+
+            HttpServletRequest httpRequest
+    ) {
+        log.info("POST /api/v1/transfers - Transferring {} from {} to {}",
+                request.amount(), request.fromAccountId(), request.toAccountId());
+
+        // Both legs are transactions
+        rateLimiter.check(httpRequest, List.of(request.fromAccountId(), request.toAccountId()));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(transferService.transfer(request));
+    }
+}
@@ -0,0 +1,85 @@
+package net.matheodrd.bankapi.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.matheodrd.bankapi.config.ReadReplicaProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Read-your-writes for replica routing: accounts written during the last readYourWritesWindow are read from the
+// primary, as a replica may not have replayed the write yet. Reads declare the account they are about with
+// forAccount, the routing data source then asks requiresPrimary() when the transaction takes its connection.
+// Only account ids are recorded. Rows found by their own id (transactions, holds) check their account once read.
+// Writes are only known to the instance that made them: with several instances, a read balanced to another one
+// within the window may still hit a lagging replica, unless the load balancer keeps a client on one instance.
+@Component
+public class ReadConsistency {
+
+    private static final int MAX_TRACKED_ACCOUNTS = 100_000;
+    private static final Object PRIMARY = new Object();
+
+    private final Cache<UUID, Boolean> recentWrites;
+    private final ThreadLocal<Object> scope = new ThreadLocal<>();
+
+    @Autowired
+    public ReadConsistency(ReadReplicaProperties properties) {
+        this(properties.enabled() ? properties.readYourWritesWindow() : Duration.ZERO);
+    }
+
+    public ReadConsistency(Duration window) {
+        this.recentWrites = window.isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(window).maximumSize(MAX_TRACKED_ACCOUNTS).build();
+    }
+
+    public void recordWrite(UUID accountId) {
+        if (recentWrites != null) {
+            recentWrites.put(accountId, Boolean.TRUE);
+        }
+    }
+
+    public void recordWrites(Collection<UUID> accountIds) {
+        accountIds.forEach(this::recordWrite);
+    }
+
+    public <T> T forAccount(UUID accountId, Supplier<T> read) {
+        return within(accountId, read);
+    }
+
+    // For reads that must see writes committed just before, whatever the account
+    public <T> T fromPrimary(Supplier<T> read) {
+        return within(PRIMARY, read);
+    }
+
+    public boolean requiresPrimary() {
+        Object current = scope.get();
+        if (current == PRIMARY) {
+            return true;
+        }
+        return current instanceof UUID id && recentlyWritten(id);
+    }
+
+    // For reads that only learn the account from the row they read
+    public boolean recentlyWritten(UUID accountId) {
+        return recentWrites != null && recentWrites.getIfPresent(accountId) != null;
+    }
+
+    private <T> T within(Object value, Supplier<T> read) {
+        Object previous = scope.get();
+        scope.set(value);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                scope.remove();
+            } else {
+                scope.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package net.matheodrd.bankapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.ReadReplicaProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to a healthy replica and everything else to the primary.
+// Must be wrapped in a LazyConnectionDataSourceProxy: the connection is then only taken at the first statement,
+// once the transaction's read-only flag is known.
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // 0 when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties.Balancing balancing;
+    private final Duration maxLag;
+    private final ReadConsistency readConsistency;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+
+    public ReadReplicaRoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicas,
+            ReadReplicaProperties properties,
+            ReadConsistency readConsistency,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.balancing = properties.balancing();
+        this.maxLag = properties.maxLag();
+        this.readConsistency = readConsistency;
+
+        this.replicaReads = readCounter(meterRegistry, "replica", "read-only");
+        this.readYourWritesReads = readCounter(meterRegistry, "primary", "read-your-writes");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no-healthy-replica");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("bank.datasource.replica.lag", replica, r -> r.lagMillis)
+                    .description("Replication lag of the replica in milliseconds, -1 when unreachable")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    // Called by ReplicaLagMonitor
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    replica.lagMillis = resultSet.getLong(1);
+                }
+                replica.healthy = replica.lagMillis <= maxLag.toMillis();
+            } catch (SQLException e) {
+                replica.lagMillis = -1;
+                replica.healthy = false;
+                log.debug("Replica {} unreachable", replica.name(), e);
+            }
+
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} {} (lag {} ms)", replica.name(), replica.healthy ? "back in rotation" : "taken out of rotation",
+                        replica.lagMillis);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private DataSource target() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary;
+        }
+        if (readConsistency.requiresPrimary()) {
+            readYourWritesReads.increment();
+            return primary;
+        }
+
+        Replica replica = balancing == ReadReplicaProperties.Balancing.LEAST_CONNECTIONS
+                ? leastConnections()
+                : roundRobin();
+        if (replica == null) {
+            fallbackReads.increment();
+            return primary;
+        }
+        replicaReads.increment();
+        return replica.dataSource;
+    }
+
+    private Replica roundRobin() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnections() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.healthy) {
+                continue;
+            }
+            int active = replica.activeConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("bank.datasource.reads")
+                .description("Read-only transactions by routing target")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        // The pool itself, or the limiter in front of it in virtual thread mode
+        private final DataSource dataSource;
+        private final HikariDataSource pool;
+        // Out of rotation until the first lag check
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.pool = unwrapPool(dataSource);
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean != null ? bean.getActiveConnections() : 0;
+        }
+
+        private static HikariDataSource unwrapPool(DataSource dataSource) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                return hikari;
+            }
+            try {
+                return dataSource.unwrap(HikariDataSource.class);
+            } catch (SQLException e) {
+                throw new IllegalArgumentException("Replica data source is not backed by a Hikari pool", e);
+            }
+        }
+    }
+}
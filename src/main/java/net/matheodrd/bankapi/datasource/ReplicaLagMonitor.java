@@ -0,0 +1,19 @@
+package net.matheodrd.bankapi.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "bank.datasource.read-replicas", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    @Scheduled(fixedDelayString = "${bank.datasource.read-replicas.lag-check-interval:PT2S}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+}
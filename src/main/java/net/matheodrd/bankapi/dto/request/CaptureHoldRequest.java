@@ -0,0 +1,14 @@
+package net.matheodrd.bankapi.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+
+import java.math.BigDecimal;
+
+public record CaptureHoldRequest(
+        // Full hold amount when absent, the rest of the hold is released
+        @DecimalMin(value = "0.01", message = "Amount must be positive")
+        @Digits(integer = 14, fraction = 4, message = "Amount must have at most 14 integer digits and 4 decimals")
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,27 @@
+package net.matheodrd.bankapi.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+public record CreateHoldRequest(
+        @NotNull(message = "Account ID is required")
+        UUID accountId,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be positive")
+        @Digits(integer = 14, fraction = 4, message = "Amount must have at most 14 integer digits and 4 decimals")
+        BigDecimal amount,
+
+        // ISO-8601 duration (e.g. PT15M), bank.holds.default-ttl when absent
+        Duration expiresIn,
+
+        @Size(max = 500)
+        String description
+) {
+}
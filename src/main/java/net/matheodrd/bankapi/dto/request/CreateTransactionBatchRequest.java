@@ -0,0 +1,15 @@
+package net.matheodrd.bankapi.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateTransactionBatchRequest(
+        @NotEmpty(message = "At least one transaction is required")
+        @Size(max = 50000, message = "A batch cannot contain more than 50000 transactions")
+        List<@Valid @NotNull CreateTransactionRequest> transactions
+) {
+}
@@ -1,6 +1,7 @@
 package net.matheodrd.bankapi.dto.request;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import net.matheodrd.bankapi.model.enums.TransactionCategory;
@@ -15,6 +16,7 @@ public record CreateTransactionRequest(
 
         @NotNull(message = "Amount is required")
         @DecimalMin(value = "0.01", message = "Amount must be positive")
+        @Digits(integer = 14, fraction = 4, message = "Amount must have at most 14 integer digits and 4 decimals")
         BigDecimal amount,
 
         @NotNull
@@ -0,0 +1,26 @@
+package net.matheodrd.bankapi.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record CreateTransferRequest(
+        @NotNull(message = "Source account ID is required")
+        UUID fromAccountId,
+
+        @NotNull(message = "Destination account ID is required")
+        UUID toAccountId,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be positive")
+        @Digits(integer = 14, fraction = 4, message = "Amount must have at most 14 integer digits and 4 decimals")
+        BigDecimal amount,
+
+        @Size(max = 500)
+        String description
+) {
+}
@@ -12,6 +12,8 @@ public record AccountDetailResponse(
         String accountNumber,
         String accountHolder,
         BigDecimal balance,
+        // Balance minus the amount reserved by active holds
+        BigDecimal availableBalance,
         Currency currency,
         AccountStatus status,
         LocalDateTime createdAt,
@@ -19,6 +21,7 @@ public record AccountDetailResponse(
         // Calculated stats
         Long totalTransactions,
         BigDecimal totalDebits,
-        BigDecimal totalCredits
+        BigDecimal totalCredits,
+        LocalDateTime lastTransactionAt
 ) {
 }
@@ -11,6 +11,8 @@ public record AccountResponse(
         String accountNumber,
         String accountHolder,
         BigDecimal balance,
+        // Balance minus the amount reserved by active holds
+        BigDecimal availableBalance,
         Currency currency,
         AccountStatus status
 ) {
@@ -0,0 +1,19 @@
+package net.matheodrd.bankapi.dto.response;
+
+import net.matheodrd.bankapi.model.enums.BatchItemStatus;
+
+public record BatchItemResult(
+        // Position of the item in the submitted batch
+        int index,
+        BatchItemStatus status,
+        TransactionResponse transaction,
+        String error
+) {
+    public static BatchItemResult accepted(int index, BatchItemStatus status, TransactionResponse transaction) {
+        return new BatchItemResult(index, status, transaction, null);
+    }
+
+    public static BatchItemResult rejected(int index, BatchItemStatus status, String error) {
+        return new BatchItemResult(index, status, null, error);
+    }
+}
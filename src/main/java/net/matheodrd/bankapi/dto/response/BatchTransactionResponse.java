@@ -0,0 +1,29 @@
+package net.matheodrd.bankapi.dto.response;
+
+import net.matheodrd.bankapi.model.enums.BatchItemStatus;
+
+import java.util.List;
+
+public record BatchTransactionResponse(
+        int total,
+        int created,
+        int flagged,
+        int rejected,
+        List<BatchItemResult> results
+) {
+    public static BatchTransactionResponse from(List<BatchItemResult> results) {
+        int created = 0;
+        int flagged = 0;
+        int rejected = 0;
+        for (BatchItemResult result : results) {
+            if (result.transaction() == null) {
+                rejected++;
+            } else if (result.status() == BatchItemStatus.FLAGGED) {
+                flagged++;
+            } else {
+                created++;
+            }
+        }
+        return new BatchTransactionResponse(results.size(), created, flagged, rejected, results);
+    }
+}
@@ -0,0 +1,14 @@
+package net.matheodrd.bankapi.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        // Pass back as the cursor parameter to get the next page, null on the last page
+        String nextCursor,
+        boolean last,
+        // Only computed when requested with withTotal=true
+        Long totalElements
+) {
+}
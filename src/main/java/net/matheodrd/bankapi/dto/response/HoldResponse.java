@@ -0,0 +1,22 @@
+package net.matheodrd.bankapi.dto.response;
+
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.HoldStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record HoldResponse(
+        UUID id,
+        UUID accountId,
+        BigDecimal amount,
+        Currency currency,
+        String description,
+        HoldStatus status,
+        LocalDateTime expiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime resolvedAt,
+        UUID transactionId
+) {
+}
@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.dto.response;
+
+public record TransactionImportResponse(
+        long imported,
+        // Rows left out at the start of the input (skip)
+        long skipped,
+        long completed,
+        long flagged,
+        long rejected,
+        boolean rescored,
+        long durationMs
+) {
+}
@@ -0,0 +1,10 @@
+package net.matheodrd.bankapi.dto.response;
+
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+
+public record TransferResponse(
+        TransactionStatus status,
+        TransactionResponse debit,
+        TransactionResponse credit
+) {
+}
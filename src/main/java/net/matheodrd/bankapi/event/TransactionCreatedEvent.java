@@ -0,0 +1,29 @@
+package net.matheodrd.bankapi.event;
+
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionCreatedEvent(
+        UUID transactionId,
+        UUID accountId,
+        TransactionType type,
+        BigDecimal amount,
+        TransactionStatus status,
+        LocalDateTime timestamp
+) {
+    public static TransactionCreatedEvent of(Transaction transaction) {
+        return new TransactionCreatedEvent(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getStatus(),
+                transaction.getTimestamp()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package net.matheodrd.bankapi.event;
+
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Published when a PENDING transaction has been scored and settled by the async pipeline
+public record TransactionScoredEvent(
+        UUID transactionId,
+        UUID accountId,
+        TransactionStatus status,
+        int riskScore,
+        LocalDateTime timestamp
+) {
+    public static TransactionScoredEvent of(Transaction transaction) {
+        return new TransactionScoredEvent(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getStatus(),
+                transaction.getRiskScore(),
+                transaction.getTimestamp()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class HoldNotActiveException extends RuntimeException {
+    public HoldNotActiveException(String message) {
+        super(message);
+    }
+}
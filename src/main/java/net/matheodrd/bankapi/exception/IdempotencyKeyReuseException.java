@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
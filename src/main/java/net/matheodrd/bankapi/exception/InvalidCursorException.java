@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class InvalidHoldException extends RuntimeException {
+    public InvalidHoldException(String message) {
+        super(message);
+    }
+}
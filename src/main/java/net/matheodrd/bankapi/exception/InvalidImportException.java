@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
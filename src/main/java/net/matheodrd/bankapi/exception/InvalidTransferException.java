@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class InvalidTransferException extends RuntimeException {
+    public InvalidTransferException(String message) {
+        super(message);
+    }
+}
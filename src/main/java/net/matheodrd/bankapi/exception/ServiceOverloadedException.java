@@ -0,0 +1,7 @@
+package net.matheodrd.bankapi.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
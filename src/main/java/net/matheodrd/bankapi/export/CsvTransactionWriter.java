@@ -0,0 +1,68 @@
+package net.matheodrd.bankapi.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180: comma separated, CRLF line endings, fields quoted only when needed
+public class CsvTransactionWriter implements TransactionRowWriter {
+
+    private static final String HEADER = "id,accountId,amount,currency,type,category,description,status,riskScore,timestamp";
+    private static final String LINE_END = "\r\n";
+
+    private final BufferedWriter writer;
+
+    public CsvTransactionWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.writer.write(HEADER);
+        this.writer.write(LINE_END);
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+        writer.write(row.id().toString());
+        writer.write(',');
+        writer.write(row.accountId().toString());
+        writer.write(',');
+        writer.write(row.amount().toPlainString());
+        writer.write(',');
+        writer.write(row.currency());
+        writer.write(',');
+        writer.write(row.type());
+        writer.write(',');
+        writer.write(row.category());
+        writer.write(',');
+        writeEscaped(row.description());
+        writer.write(',');
+        writer.write(row.status());
+        writer.write(',');
+        writer.write(Integer.toString(row.riskScore()));
+        writer.write(',');
+        writer.write(row.timestamp().toString());
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,20 @@
+package net.matheodrd.bankapi.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One transaction as read from the export cursor, without going through the entity or the mapper
+public record ExportRow(
+        UUID id,
+        UUID accountId,
+        BigDecimal amount,
+        String currency,
+        String type,
+        String category,
+        String description,
+        String status,
+        int riskScore,
+        LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,40 @@
+package net.matheodrd.bankapi.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// One JSON object per line, with the same field names as TransactionResponse
+public class NdjsonTransactionWriter implements TransactionRowWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonTransactionWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", row.id().toString());
+        generator.writeStringField("accountId", row.accountId().toString());
+        generator.writeNumberField("amount", row.amount());
+        generator.writeStringField("currency", row.currency());
+        generator.writeStringField("type", row.type());
+        generator.writeStringField("category", row.category());
+        generator.writeStringField("description", row.description());
+        generator.writeStringField("status", row.status());
+        generator.writeNumberField("riskScore", row.riskScore());
+        generator.writeStringField("timestamp", row.timestamp().toString());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
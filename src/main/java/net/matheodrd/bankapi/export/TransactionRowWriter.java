@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface TransactionRowWriter extends Closeable {
+
+    void write(ExportRow row) throws IOException;
+
+    // Flushes buffered rows without closing the response stream
+    @Override
+    void close() throws IOException;
+}
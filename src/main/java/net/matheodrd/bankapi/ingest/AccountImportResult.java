@@ -0,0 +1,24 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.util.UUID;
+
+// Outcome of one onboarding row: the new account, or why the row was refused
+public record AccountImportResult(
+        long line,
+        String reference,
+        UUID id,
+        String accountNumber,
+        String error
+) {
+    public static AccountImportResult created(AccountImportRow row, UUID id, String accountNumber) {
+        return new AccountImportResult(row.line(), row.reference(), id, accountNumber, null);
+    }
+
+    public static AccountImportResult rejected(long line, String reference, String error) {
+        return new AccountImportResult(line, reference, null, null, error);
+    }
+
+    public String status() {
+        return error == null ? "CREATED" : "REJECTED";
+    }
+}
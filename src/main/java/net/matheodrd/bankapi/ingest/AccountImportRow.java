@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.ingest;
+
+// One account to open, as read from the onboarding file. Values are kept as text and validated by the service,
+// so that an invalid row is reported on its own instead of failing the whole file.
+public record AccountImportRow(
+        long line,
+        // Partner's own identifier, echoed in the result to map it to the new account
+        String reference,
+        String accountHolder,
+        String initialBalance,
+        String currency
+) {
+}
@@ -0,0 +1,16 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface AccountResultWriter extends Closeable {
+
+    void write(AccountImportResult result) throws IOException;
+
+    // Sends the results written so far, called after each committed chunk
+    void flush() throws IOException;
+
+    // Flushes buffered results without closing the response stream
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,13 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface AccountRowReader extends Closeable {
+
+    // Next row of the input, or null once it is exhausted
+    AccountImportRow next() throws IOException;
+
+    // Line reached in the input, to report a row that could not be parsed at all
+    long line();
+}
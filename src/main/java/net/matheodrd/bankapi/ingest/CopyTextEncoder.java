@@ -0,0 +1,42 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.util.UUID;
+
+// Rows in the text format of COPY ... FROM STDIN: tab separated, \N for NULL, backslash escapes.
+// append() writes a transaction with the columns in the order of TransactionImportService's COPY statement.
+public final class CopyTextEncoder {
+
+    private CopyTextEncoder() {
+    }
+
+    public static void append(StringBuilder out, UUID id, ImportRow row) {
+        out.append(id).append('\t')
+                .append(row.accountId()).append('\t')
+                .append(row.amount().toPlainString()).append('\t')
+                .append(row.currency().name()).append('\t')
+                .append(row.type().name()).append('\t')
+                .append(row.category().name()).append('\t');
+        appendText(out, row.description());
+        out.append('\t')
+                .append(row.status().name()).append('\t')
+                .append(row.riskScore()).append('\t')
+                .append(row.timestamp()).append('\n');
+    }
+
+    public static void appendText(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+}
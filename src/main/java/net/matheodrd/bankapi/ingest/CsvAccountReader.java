@@ -0,0 +1,48 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static net.matheodrd.bankapi.ingest.CsvRecordReader.field;
+
+// Header: reference,accountHolder,initialBalance,currency (any order, reference optional)
+public class CsvAccountReader implements AccountRowReader {
+
+    private final CsvRecordReader records;
+    private final int[] positions;
+
+    public CsvAccountReader(InputStream in) throws IOException {
+        this.records = new CsvRecordReader(in);
+        this.positions = records.positions("reference", "accountHolder", "initialBalance", "currency");
+    }
+
+    @Override
+    public AccountImportRow next() throws IOException {
+        List<String> record = records.next();
+        if (record == null) {
+            return null;
+        }
+        return new AccountImportRow(
+                records.line(),
+                emptyToNull(field(record, positions[0])),
+                emptyToNull(field(record, positions[1])),
+                emptyToNull(field(record, positions[2])),
+                emptyToNull(field(record, positions[3]))
+        );
+    }
+
+    @Override
+    public long line() {
+        return records.line();
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,69 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+// Same CSV conventions as CsvTransactionWriter
+public class CsvAccountResultWriter implements AccountResultWriter {
+
+    private static final String HEADER = "line,reference,status,id,accountNumber,error";
+    private static final String LINE_END = "\r\n";
+
+    private final BufferedWriter writer;
+
+    public CsvAccountResultWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.writer.write(HEADER);
+        this.writer.write(LINE_END);
+    }
+
+    @Override
+    public void write(AccountImportResult result) throws IOException {
+        writer.write(Long.toString(result.line()));
+        writer.write(',');
+        writeEscaped(result.reference());
+        writer.write(',');
+        writer.write(result.status());
+        writer.write(',');
+        if (result.id() != null) {
+            writer.write(result.id().toString());
+            writer.write(',');
+            writer.write(result.accountNumber());
+            writer.write(',');
+        } else {
+            writer.write(",,");
+            writeEscaped(result.error());
+        }
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,119 @@
+package net.matheodrd.bankapi.ingest;
+
+import net.matheodrd.bankapi.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 records with a header: fields are looked up by header name, so columns can come in any order
+// and optional ones can be left out. Blank lines are skipped.
+class CsvRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line;
+    private long recordLine;
+
+    CsvRecordReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> firstRecord = readRecord();
+        if (firstRecord == null) {
+            throw new InvalidImportException("Empty CSV, a header line is required");
+        }
+        this.header = List.copyOf(firstRecord);
+    }
+
+    // Position of each column in the records, -1 when the header does not have it
+    int[] positions(String... columns) {
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            positions[i] = header.indexOf(columns[i]);
+        }
+        return positions;
+    }
+
+    // Next non-blank record, or null at the end of the input. The list is reused by the next call.
+    List<String> next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.getFirst().isEmpty());
+        return record;
+    }
+
+    // Line on which the last record started
+    long line() {
+        return recordLine;
+    }
+
+    static String field(List<String> record, int position) {
+        return position >= 0 && position < record.size() ? record.get(position) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // One record, which spans several lines when a quoted field contains line breaks
+    private List<String> readRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        recordLine = line;
+        fields.clear();
+        field.setLength(0);
+
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    return fields;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new InvalidImportException("Line " + recordLine + ": unterminated quoted field");
+                }
+                line++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+}
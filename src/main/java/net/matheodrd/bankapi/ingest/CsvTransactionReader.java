@@ -0,0 +1,48 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static net.matheodrd.bankapi.ingest.CsvRecordReader.field;
+
+// Reads the CSV written by CsvTransactionWriter. The optional columns (id, description, status, riskScore)
+// can be left out.
+public class CsvTransactionReader implements TransactionRowReader {
+
+    private final CsvRecordReader records;
+    private final int[] positions;
+
+    public CsvTransactionReader(InputStream in) throws IOException {
+        this.records = new CsvRecordReader(in);
+        this.positions = records.positions(
+                "id", "accountId", "amount", "currency", "type", "category", "description", "status", "riskScore", "timestamp"
+        );
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record = records.next();
+        if (record == null) {
+            return null;
+        }
+        return ImportRow.parse(
+                records.line(),
+                field(record, positions[0]),
+                field(record, positions[1]),
+                field(record, positions[2]),
+                field(record, positions[3]),
+                field(record, positions[4]),
+                field(record, positions[5]),
+                field(record, positions[6]),
+                field(record, positions[7]),
+                field(record, positions[8]),
+                field(record, positions[9])
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
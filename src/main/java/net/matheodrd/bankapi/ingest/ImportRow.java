@@ -0,0 +1,93 @@
+package net.matheodrd.bankapi.ingest;
+
+import net.matheodrd.bankapi.exception.InvalidImportException;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+// One historical transaction read from an import file. id is null when the file does not carry one.
+public record ImportRow(
+        UUID id,
+        UUID accountId,
+        BigDecimal amount,
+        Currency currency,
+        TransactionType type,
+        TransactionCategory category,
+        String description,
+        TransactionStatus status,
+        int riskScore,
+        LocalDateTime timestamp
+) {
+
+    private static final int MIN_YEAR = 1970;
+
+    // Same field names and formats as the export, missing status and riskScore default to COMPLETED and 0
+    public static ImportRow parse(
+            long line,
+            String id,
+            String accountId,
+            String amount,
+            String currency,
+            String type,
+            String category,
+            String description,
+            String status,
+            String riskScore,
+            String timestamp
+    ) {
+        try {
+            TransactionStatus parsedStatus = isBlank(status) ? TransactionStatus.COMPLETED : TransactionStatus.valueOf(status);
+            if (parsedStatus == TransactionStatus.PENDING) {
+                // They would be picked up by the scoring sweep and change the balance a second time
+                throw new InvalidImportException("Line " + line + ": PENDING transactions cannot be imported");
+            }
+            BigDecimal parsedAmount = new BigDecimal(required(amount, "amount", line));
+            if (parsedAmount.signum() <= 0) {
+                throw new InvalidImportException("Line " + line + ": amount must be positive");
+            }
+            if (description != null && description.length() > 500) {
+                throw new InvalidImportException("Line " + line + ": description longer than 500 characters");
+            }
+            LocalDateTime parsedTimestamp = LocalDateTime.parse(required(timestamp, "timestamp", line));
+            if (parsedTimestamp.getYear() < MIN_YEAR) {
+                // Generated ids carry the timestamp as Unix milliseconds
+                throw new InvalidImportException("Line " + line + ": timestamp before " + MIN_YEAR);
+            }
+            return new ImportRow(
+                    isBlank(id) ? null : UUID.fromString(id),
+                    UUID.fromString(required(accountId, "accountId", line)),
+                    parsedAmount,
+                    Currency.valueOf(required(currency, "currency", line)),
+                    TransactionType.valueOf(required(type, "type", line)),
+                    TransactionCategory.valueOf(required(category, "category", line)),
+                    isBlank(description) ? null : description,
+                    parsedStatus,
+                    isBlank(riskScore) ? 0 : Integer.parseInt(riskScore),
+                    parsedTimestamp
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidImportException("Line " + line + ": " + e.getMessage());
+        }
+    }
+
+    public ImportRow withRisk(int riskScore, TransactionStatus status) {
+        return new ImportRow(id, accountId, amount, currency, type, category, description, status, riskScore, timestamp);
+    }
+
+    private static String required(String value, String field, long line) {
+        if (isBlank(value)) {
+            throw new InvalidImportException("Line " + line + ": " + field + " is required");
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package net.matheodrd.bankapi.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.matheodrd.bankapi.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// One CreateAccountRequest per line, with an optional "reference"
+public class NdjsonAccountReader implements AccountRowReader {
+
+    private final MappingIterator<JsonRow> rows;
+
+    public NdjsonAccountReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.rows = objectMapper.readerFor(JsonRow.class).readValues(in);
+    }
+
+    @Override
+    public AccountImportRow next() throws IOException {
+        try {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            JsonRow row = rows.nextValue();
+            return new AccountImportRow(line(), row.reference(), row.accountHolder(), row.initialBalance(), row.currency());
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException("Line " + line() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public long line() {
+        return rows.getCurrentLocation().getLineNr();
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+
+    // Numbers are kept as their text, so balances are not rounded through a double
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record JsonRow(
+            String reference,
+            String accountHolder,
+            String initialBalance,
+            String currency
+    ) {
+    }
+}
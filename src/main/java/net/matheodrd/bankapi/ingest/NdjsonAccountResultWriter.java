@@ -0,0 +1,43 @@
+package net.matheodrd.bankapi.ingest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonAccountResultWriter implements AccountResultWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonAccountResultWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(AccountImportResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", result.line());
+        generator.writeStringField("reference", result.reference());
+        generator.writeStringField("status", result.status());
+        if (result.id() != null) {
+            generator.writeStringField("id", result.id().toString());
+            generator.writeStringField("accountNumber", result.accountNumber());
+        } else {
+            generator.writeStringField("error", result.error());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,66 @@
+package net.matheodrd.bankapi.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.matheodrd.bankapi.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// One JSON object per line with the export's field names, parsed one at a time from the stream
+public class NdjsonTransactionReader implements TransactionRowReader {
+
+    private final MappingIterator<JsonRow> rows;
+
+    public NdjsonTransactionReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.rows = objectMapper.readerFor(JsonRow.class).readValues(in);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        try {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            JsonRow row = rows.nextValue();
+            return ImportRow.parse(
+                    rows.getCurrentLocation().getLineNr(),
+                    row.id(),
+                    row.accountId(),
+                    row.amount(),
+                    row.currency(),
+                    row.type(),
+                    row.category(),
+                    row.description(),
+                    row.status(),
+                    row.riskScore(),
+                    row.timestamp()
+            );
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException("Line " + rows.getCurrentLocation().getLineNr() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+
+    // Numbers are kept as their text, so amounts are not rounded through a double
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record JsonRow(
+            String id,
+            String accountId,
+            String amount,
+            String currency,
+            String type,
+            String category,
+            String description,
+            String status,
+            String riskScore,
+            String timestamp
+    ) {
+    }
+}
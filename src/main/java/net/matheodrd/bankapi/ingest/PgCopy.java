@@ -0,0 +1,46 @@
+package net.matheodrd.bankapi.ingest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Sends rows through COPY ... FROM STDIN on the given connection, encoded by CopyTextEncoder-style appenders
+// and written in 64 kB pieces. The COPY is cancelled if anything fails half way, so the connection stays usable.
+public final class PgCopy {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private PgCopy() {
+    }
+
+    public static <T> long copyIn(Connection connection, String sql, List<T> rows, BiConsumer<StringBuilder, T> encoder)
+            throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            StringBuilder buffer = new StringBuilder(BUFFER_CHARS + 1024);
+            for (T row : rows) {
+                encoder.accept(buffer, row);
+                if (buffer.length() >= BUFFER_CHARS) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
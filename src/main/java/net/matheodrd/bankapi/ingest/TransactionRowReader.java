@@ -0,0 +1,10 @@
+package net.matheodrd.bankapi.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface TransactionRowReader extends Closeable {
+
+    // Next row of the input, or null once it is exhausted
+    ImportRow next() throws IOException;
+}
@@ -27,6 +27,8 @@ public interface AccountMapper {
     @Mapping(target = "accountNumber", ignore = true)
     @Mapping(target = "balance", source = "initialBalance")
     @Mapping(target = "status", constant = "ACTIVE")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "heldAmount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Account toEntity(CreateAccountRequest request);
@@ -0,0 +1,15 @@
+package net.matheodrd.bankapi.mapper;
+
+import net.matheodrd.bankapi.dto.response.HoldResponse;
+import net.matheodrd.bankapi.model.Hold;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+        componentModel = "spring",
+        unmappedTargetPolicy = ReportingPolicy.ERROR
+)
+public interface HoldMapper {
+
+    HoldResponse toResponse(Hold hold);
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import net.matheodrd.bankapi.model.enums.AccountStatus;
 import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.id.UuidV7Id;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @Table(name = "accounts")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "account_number")
@@ -30,6 +31,11 @@ public class Account {
     @Column(name = "balance")
     private BigDecimal balance;
 
+    // Reserved by active holds, only changed by the atomic updates in AccountRepository
+    @Builder.Default
+    @Column(name = "held_amount", insertable = false, updatable = false)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "currency")
     private Currency currency;
@@ -38,9 +44,17 @@ public class Account {
     @Column(name = "status")
     private AccountStatus status;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at", updatable = false, insertable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", insertable = false)
     private LocalDateTime updatedAt;
+
+    public BigDecimal getAvailableBalance() {
+        return balance.subtract(heldAmount);
+    }
 }
\ No newline at end of file
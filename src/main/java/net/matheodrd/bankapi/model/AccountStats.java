@@ -0,0 +1,32 @@
+package net.matheodrd.bankapi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Written only through the native upserts of AccountStatsRepository
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "account_stats")
+public class AccountStats {
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(name = "transaction_count")
+    private Long transactionCount;
+
+    @Column(name = "total_debits")
+    private BigDecimal totalDebits;
+
+    @Column(name = "total_credits")
+    private BigDecimal totalCredits;
+
+    @Column(name = "last_transaction_at")
+    private LocalDateTime lastTransactionAt;
+}
@@ -0,0 +1,53 @@
+package net.matheodrd.bankapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.HoldStatus;
+import net.matheodrd.bankapi.model.id.UuidV7Id;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "holds")
+public class Hold {
+    @Id
+    @UuidV7Id
+    private UUID id;
+
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(name = "amount")
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency")
+    private Currency currency;
+
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private HoldStatus status;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", updatable = false, insertable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+}
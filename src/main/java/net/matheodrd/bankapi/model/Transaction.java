@@ -6,6 +6,7 @@ import net.matheodrd.bankapi.model.enums.Currency;
 import net.matheodrd.bankapi.model.enums.TransactionCategory;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
 import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.model.id.UuidV7Id;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @Table(name = "transactions")
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "account_id")
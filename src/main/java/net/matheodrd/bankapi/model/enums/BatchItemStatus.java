@@ -0,0 +1,9 @@
+package net.matheodrd.bankapi.model.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    FLAGGED,
+    REJECTED_ACCOUNT_NOT_FOUND,
+    REJECTED_ACCOUNT_SUSPENDED,
+    REJECTED_INSUFFICIENT_BALANCE
+}
@@ -0,0 +1,8 @@
+package net.matheodrd.bankapi.model.enums;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
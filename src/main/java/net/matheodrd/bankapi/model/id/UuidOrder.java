@@ -0,0 +1,18 @@
+package net.matheodrd.bankapi.model.id;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+// PostgreSQL orders uuid values byte by byte, so both halves compare unsigned. UUID.compareTo compares them
+// signed and disagrees whenever the top bits differ, which is random for the legacy v4 account ids.
+// Code that locks or updates account rows in id order uses this one to agree with ORDER BY id.
+public final class UuidOrder {
+
+    public static final Comparator<UUID> DATABASE = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private UuidOrder() {
+    }
+}
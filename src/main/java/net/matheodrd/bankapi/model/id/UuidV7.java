@@ -0,0 +1,62 @@
+package net.matheodrd.bankapi.model.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7 UUIDs: 48-bit Unix milliseconds, then a 12-bit counter (rand_a), then 62 random bits.
+// Ids generated by this JVM are strictly increasing, also within a millisecond and across threads: the
+// timestamp and counter are taken together from a single CAS. When the counter overflows the timestamp
+// is borrowed from the next millisecond, so ordering never goes backwards.
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Each new millisecond starts the counter in its lower half, leaving 2048+ ids before a borrow
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Last (millis << COUNTER_BITS | counter) handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+
+        long prev;
+        long next;
+        do {
+            prev = LAST.get();
+            next = now > prev ? now | random.nextInt(COUNTER_SEED_BOUND) : prev + 1;
+        } while (!LAST.compareAndSet(prev, next));
+
+        long millis = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+
+        long msb = (millis << 16) | VERSION | counter;
+        long lsb = VARIANT | (random.nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    // For rows that happened in the past (imports): ordered by the given time instead of the clock.
+    // Ids for the same millisecond are random, not increasing.
+    public static UUID at(long epochMillis) {
+        if (epochMillis < 0 || epochMillis >>> 48 != 0) {
+            throw new IllegalArgumentException("Time out of the UUIDv7 range: " + epochMillis);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (epochMillis << 16) | VERSION | random.nextInt(1 << COUNTER_BITS);
+        long lsb = VARIANT | (random.nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
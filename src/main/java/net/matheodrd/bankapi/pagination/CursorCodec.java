@@ -0,0 +1,36 @@
+package net.matheodrd.bankapi.pagination;
+
+import net.matheodrd.bankapi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Cursors are opaque to clients: "<kind>|<sort key>|<id>" encoded as unpadded base64url
+final class CursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorCodec() {
+    }
+
+    static String encode(String kind, String sortKey, String id) {
+        String raw = kind + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns the sort key and the id
+    static String[] decode(String kind, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 3 || !parts[0].equals(kind)) {
+            throw new InvalidCursorException("Cursor does not belong to this listing");
+        }
+        return new String[]{parts[1], parts[2]};
+    }
+}
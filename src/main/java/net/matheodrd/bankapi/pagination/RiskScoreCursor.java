@@ -0,0 +1,29 @@
+package net.matheodrd.bankapi.pagination;
+
+import net.matheodrd.bankapi.exception.InvalidCursorException;
+import net.matheodrd.bankapi.model.Transaction;
+
+import java.util.UUID;
+
+// Position in a listing ordered by (risk_score DESC, id DESC)
+public record RiskScoreCursor(int riskScore, UUID id) {
+
+    private static final String KIND = "rs";
+
+    public static RiskScoreCursor of(Transaction transaction) {
+        return new RiskScoreCursor(transaction.getRiskScore(), transaction.getId());
+    }
+
+    public static RiskScoreCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(KIND, cursor);
+        try {
+            return new RiskScoreCursor(Integer.parseInt(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(KIND, Integer.toString(riskScore), id.toString());
+    }
+}
@@ -0,0 +1,31 @@
+package net.matheodrd.bankapi.pagination;
+
+import net.matheodrd.bankapi.exception.InvalidCursorException;
+import net.matheodrd.bankapi.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+// Position in a listing ordered by (timestamp DESC, id DESC)
+public record TimestampCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final String KIND = "ts";
+
+    public static TimestampCursor of(Transaction transaction) {
+        return new TimestampCursor(transaction.getTimestamp(), transaction.getId());
+    }
+
+    public static TimestampCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(KIND, cursor);
+        try {
+            return new TimestampCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(KIND, timestamp.toString(), id.toString());
+    }
+}
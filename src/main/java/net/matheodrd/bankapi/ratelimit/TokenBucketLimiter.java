@@ -0,0 +1,77 @@
+package net.matheodrd.bankapi.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single timestamp (GCRA): the bucket stores the time at which it will be full again,
+// so taking a token is one compare-and-set, with no lock and no refill thread.
+// Buckets live in a bounded Caffeine map, idle ones expire (an idle bucket is full, dropping it changes nothing).
+public class TokenBucketLimiter<K> {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<K, AtomicLong> buckets;
+
+    public TokenBucketLimiter(double ratePerSecond, int burst, int maxBuckets, Duration idleTimeout) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    // 0 when the token was taken, otherwise how long to wait before one is available
+    public long tryAcquire(K key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(K key, long now) {
+        return tryAcquireAll(key, 1, now);
+    }
+
+    // Takes several tokens at once (one per item of a batch). Admitted as soon as one token is available,
+    // the others are borrowed from the next refills: a request larger than the burst still passes,
+    // but leaves the bucket empty for as long as its items take to refill.
+    public long tryAcquireAll(K key, int tokens) {
+        return tryAcquireAll(key, tokens, System.nanoTime());
+    }
+
+    long tryAcquireAll(K key, int tokens, long now) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long allowedAt = start + intervalNanos - burstNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos * tokens)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a token taken by tryAcquire, when the request is refused for another reason
+    public void release(K key) {
+        releaseAll(key, 1);
+    }
+
+    public void releaseAll(K key, int tokens) {
+        AtomicLong fullAt = buckets.getIfPresent(key);
+        if (fullAt != null) {
+            fullAt.addAndGet(-intervalNanos * tokens);
+        }
+    }
+
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
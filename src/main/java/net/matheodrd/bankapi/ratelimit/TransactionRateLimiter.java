@@ -0,0 +1,108 @@
+package net.matheodrd.bankapi.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.RateLimitProperties;
+import net.matheodrd.bankapi.exception.RateLimitExceededException;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Checked by the controller before the service is called, so rejected requests never reach the database
+@Component
+@Slf4j
+public class TransactionRateLimiter {
+
+    private final boolean enabled;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final TokenBucketLimiter<UUID> perAccount;
+    private final TokenBucketLimiter<String> perClient;
+    private final Counter accountRejections;
+    private final Counter clientRejections;
+
+    public TransactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.clientHeader = properties.clientHeader();
+        this.trustedProxies = Set.copyOf(properties.trustedProxies());
+        this.perAccount = new TokenBucketLimiter<>(properties.perAccount().rate(), properties.perAccount().burst(),
+                properties.maxBuckets(), properties.idleTimeout());
+        this.perClient = new TokenBucketLimiter<>(properties.perClient().rate(), properties.perClient().burst(),
+                properties.maxBuckets(), properties.idleTimeout());
+        this.accountRejections = rejections(meterRegistry, "account");
+        this.clientRejections = rejections(meterRegistry, "client");
+
+        if (enabled && trustedProxies.isEmpty()) {
+            log.warn("bank.rate-limit.transactions.trusted-proxies is empty: clients are told apart by their remote "
+                    + "address, so behind a load balancer they all share one per-client bucket");
+        }
+    }
+
+    public void check(HttpServletRequest request, UUID accountId) {
+        check(request, List.of(accountId));
+    }
+
+    // Batches, transfers and holds: one token per transaction created, taken from the client
+    // and from the account of each transaction, so a batch is not a way around the limits
+    public void check(HttpServletRequest request, List<UUID> accountIds) {
+        if (!enabled || accountIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Integer> perAccountTokens = new LinkedHashMap<>();
+        accountIds.forEach(accountId -> perAccountTokens.merge(accountId, 1, Integer::sum));
+
+        String clientId = clientId(request);
+        long wait = perClient.tryAcquireAll(clientId, accountIds.size());
+        if (wait > 0) {
+            clientRejections.increment();
+            throw new RateLimitExceededException("Too many transactions from this client", Duration.ofNanos(wait));
+        }
+
+        List<UUID> charged = new ArrayList<>(perAccountTokens.size());
+        for (Map.Entry<UUID, Integer> entry : perAccountTokens.entrySet()) {
+            wait = perAccount.tryAcquireAll(entry.getKey(), entry.getValue());
+            if (wait > 0) {
+                // A request refused for one of its accounts does not count against the client or the other accounts
+                charged.forEach(accountId -> perAccount.releaseAll(accountId, perAccountTokens.get(accountId)));
+                perClient.releaseAll(clientId, accountIds.size());
+                accountRejections.increment();
+                throw new RateLimitExceededException("Too many transactions for account " + entry.getKey(),
+                        Duration.ofNanos(wait));
+            }
+            charged.add(entry.getKey());
+        }
+    }
+
+    // The header is set by the client otherwise, which could then pick a fresh bucket or drain someone else's
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String address = request.getRemoteAddr();
+        if (trustedProxies.contains(address)) {
+            String header = request.getHeader(clientHeader);
+            if (header != null && !header.isBlank()) {
+                return "client:" + header;
+            }
+        }
+        return "address:" + address;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("bank.ratelimit.rejected")
+                .description("Transaction creations rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -1,35 +1,98 @@
 package net.matheodrd.bankapi.repository;
 
+import jakarta.persistence.LockModeType;
 import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
 import net.matheodrd.bankapi.repository.projection.AccountDetailProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID> {
-    boolean existsByAccountNumber(String accountNumber);
-
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    // Start of the next block of account_number_seq, see AccountNumberGenerator
+    @Query(value = "SELECT nextval('account_number_seq')", nativeQuery = true)
+    long nextAccountNumberBlock();
+
+    @Query(value = "SELECT nextval('account_number_seq') FROM generate_series(1, :blocks)", nativeQuery = true)
+    List<Long> nextAccountNumberBlocks(@Param("blocks") int blocks);
+
+    @Query("SELECT a.status FROM Account a WHERE a.id = :accountId")
+    Optional<AccountStatus> findStatusById(@Param("accountId") UUID accountId);
+
+    // Atomic balance updates: the overdraft and status checks happen in the same statement as the write.
+    // An empty result means no row matched (unknown, suspended or, for debits, insufficient balance).
+    @Query(value = """
+                UPDATE accounts SET balance = balance - :amount, version = version + 1
+                WHERE id = :accountId AND balance - held_amount >= :amount AND status <> 'SUSPENDED'
+                RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> debit(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    @Query(value = """
+                UPDATE accounts SET balance = balance + :amount, version = version + 1
+                WHERE id = :accountId AND status <> 'SUSPENDED'
+                RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> credit(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    // Holds, see HoldService. Reserving checks the available balance in the same statement as the write.
+    @Query(value = """
+                UPDATE accounts SET held_amount = held_amount + :amount, version = version + 1
+                WHERE id = :accountId AND balance - held_amount >= :amount AND status <> 'SUSPENDED'
+                RETURNING held_amount
+            """, nativeQuery = true)
+    Optional<BigDecimal> reserve(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = """
+                UPDATE accounts SET held_amount = held_amount - :amount, version = version + 1
+                WHERE id = :accountId
+            """, nativeQuery = true)
+    int releaseHeld(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    // Capture may take less than was held, the remainder is released
+    @Query(value = """
+                UPDATE accounts SET held_amount = held_amount - :held, balance = balance - :captured, version = version + 1
+                WHERE id = :accountId
+                RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> captureHeld(
+            @Param("accountId") UUID accountId,
+            @Param("held") BigDecimal held,
+            @Param("captured") BigDecimal captured
+    );
+
+    // Aggregates come from account_stats, so the cost does not grow with the account's history
     @Query("""
                 SELECT
                     a.id as id, a.accountNumber as accountNumber, a.accountHolder as accountHolder,
-                    a.balance as balance, a.currency as currency, a.status as status,
+                    a.balance as balance, a.balance - a.heldAmount as availableBalance, a.currency as currency, a.status as status,
                     a.createdAt as createdAt, a.updatedAt as updatedAt,
-                    COUNT(t.id) as totalTransactions,
-                    COALESCE(SUM(CASE WHEN t.type = 'DEBIT' THEN t.amount ELSE 0.0 END), 0.0) as totalDebits,
-                    COALESCE(SUM(CASE WHEN t.type = 'CREDIT' THEN t.amount ELSE 0.0 END), 0.0) as totalCredits
+                    COALESCE(s.transactionCount, 0L) as totalTransactions,
+                    COALESCE(s.totalDebits, 0.0) as totalDebits,
+                    COALESCE(s.totalCredits, 0.0) as totalCredits,
+                    s.lastTransactionAt as lastTransactionAt
                 FROM Account a
-                LEFT JOIN Transaction t ON t.accountId = a.id
+                LEFT JOIN AccountStats s ON s.accountId = a.id
                 WHERE a.id = :accountId
-                GROUP BY a.id, a.accountNumber, a.accountHolder, a.balance,
-                         a.currency, a.status, a.createdAt, a.updatedAt
             """)
     Optional<AccountDetailProjection> findDetailById(@Param("accountId") UUID accountId);
+
+    // Rows are locked in id order so that concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
 }
 
@@ -0,0 +1,80 @@
+package net.matheodrd.bankapi.repository;
+
+import net.matheodrd.bankapi.model.AccountStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccountStatsRepository extends JpaRepository<AccountStats, UUID> {
+
+    // Adds new transactions to the aggregates, in the same database transaction as their insert.
+    // lastTransactionAt is the latest timestamp among them, so the result matches what recompute derives.
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_stats (account_id, transaction_count, total_debits, total_credits, last_transaction_at)
+                VALUES (:accountId, :count, :debits, :credits, :lastTransactionAt)
+                ON CONFLICT (account_id) DO UPDATE SET
+                    transaction_count = account_stats.transaction_count + EXCLUDED.transaction_count,
+                    total_debits = account_stats.total_debits + EXCLUDED.total_debits,
+                    total_credits = account_stats.total_credits + EXCLUDED.total_credits,
+                    last_transaction_at = GREATEST(account_stats.last_transaction_at, EXCLUDED.last_transaction_at)
+            """, nativeQuery = true)
+    void increment(
+            @Param("accountId") UUID accountId,
+            @Param("count") long count,
+            @Param("debits") BigDecimal debits,
+            @Param("credits") BigDecimal credits,
+            @Param("lastTransactionAt") LocalDateTime lastTransactionAt
+    );
+
+    // Rebuild, see AccountStatsService
+    @Query(value = "SELECT id FROM accounts WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UUID> findAccountIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_stats (account_id)
+                SELECT id FROM accounts WHERE id IN (:accountIds)
+                ON CONFLICT (account_id) DO NOTHING
+            """, nativeQuery = true)
+    void insertMissing(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Query(value = """
+                SELECT account_id FROM account_stats
+                WHERE account_id IN (:accountIds)
+                ORDER BY account_id
+                FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockAll(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Modifying
+    @Query(value = """
+                UPDATE account_stats s SET
+                    transaction_count = agg.transaction_count,
+                    total_debits = agg.total_debits,
+                    total_credits = agg.total_credits,
+                    last_transaction_at = agg.last_transaction_at
+                FROM (
+                    SELECT a.id AS account_id,
+                           COUNT(t.id) AS transaction_count,
+                           COALESCE(SUM(CASE WHEN t.type = 'DEBIT' THEN t.amount END), 0.0) AS total_debits,
+                           COALESCE(SUM(CASE WHEN t.type = 'CREDIT' THEN t.amount END), 0.0) AS total_credits,
+                           MAX(t.timestamp) AS last_transaction_at
+                    FROM accounts a
+                    LEFT JOIN transactions t ON t.account_id = a.id
+                    WHERE a.id IN (:accountIds)
+                    GROUP BY a.id
+                ) agg
+                WHERE s.account_id = agg.account_id
+            """, nativeQuery = true)
+    int recompute(@Param("accountIds") Collection<UUID> accountIds);
+}
@@ -0,0 +1,41 @@
+package net.matheodrd.bankapi.repository;
+
+import jakarta.persistence.LockModeType;
+import net.matheodrd.bankapi.model.Hold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.id = :id")
+    Optional<Hold> findByIdForUpdate(@Param("id") UUID id);
+
+    // Served by the partial index idx_holds_active_expires_at
+    @Query("SELECT h.id FROM Hold h WHERE h.status = 'ACTIVE' AND h.expiresAt <= :now ORDER BY h.expiresAt, h.id")
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Holds being captured or released at the same time are left to their owner
+    @Query(value = """
+                SELECT * FROM holds
+                WHERE id IN (:ids) AND status = 'ACTIVE'
+                ORDER BY id
+                FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Hold> lockActiveByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Literal status so that the planner can use the partial index
+    @Query("SELECT COUNT(h) FROM Hold h WHERE h.status = 'ACTIVE'")
+    long countActive();
+}
@@ -1,21 +1,28 @@
 package net.matheodrd.bankapi.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import net.matheodrd.bankapi.model.Transaction;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
-import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.projection.VelocityBucketProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction> {
     // Transactions by Account
     Page<Transaction> findByAccountIdOrderByTimestampDesc(
             UUID accountId,
@@ -28,30 +35,71 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             Pageable pageable
     );
 
-    // For risk score calculation : account recent transactions
-    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId " +
-            "AND t.timestamp > :since ORDER BY t.timestamp DESC")
-    List<Transaction> findRecentByAccountId(
+    // Keyset pagination : fetch the page after a (sort key, id) position, first pages start without one
+    List<Transaction> findByAccountIdOrderByTimestampDescIdDesc(UUID accountId, Limit limit);
+
+    @Query("""
+                SELECT t FROM Transaction t
+                WHERE t.accountId = :accountId
+                AND (t.timestamp, t.id) < (:timestamp, :id)
+                ORDER BY t.timestamp DESC, t.id DESC
+            """)
+    List<Transaction> findByAccountIdAfter(
             @Param("accountId") UUID accountId,
-            @Param("since") LocalDateTime since
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") UUID id,
+            Limit limit
     );
 
+    List<Transaction> findByStatusOrderByRiskScoreDescIdDesc(TransactionStatus status, Limit limit);
+
     @Query("""
                 SELECT t FROM Transaction t
-                WHERE (:accountId IS NULL OR t.accountId = :accountId)
-                AND (:status IS NULL OR t.status = :status)
-                AND (:type IS NULL OR t.type = :type)
-                AND (:fromDate IS NULL OR t.timestamp >= :fromDate)
-                AND (:toDate IS NULL OR t.timestamp <= :toDate)
-                ORDER BY t.timestamp DESC
+                WHERE t.status = :status
+                AND (t.riskScore, t.id) < (:riskScore, :id)
+                ORDER BY t.riskScore DESC, t.id DESC
             """)
-    Page<Transaction> findByFilters(
-            @Param("accountId") UUID accountId,
+    List<Transaction> findByStatusAfter(
             @Param("status") TransactionStatus status,
-            @Param("type") TransactionType type,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
+            @Param("riskScore") int riskScore,
+            @Param("id") UUID id,
+            Limit limit
     );
 
+    long countByAccountId(UUID accountId);
+
+    long countByStatus(TransactionStatus status);
+
+    // Async risk scoring : rows already locked by another worker are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND t.status = 'PENDING' ORDER BY t.timestamp")
+    List<Transaction> findPendingByIdInForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.status = 'PENDING' AND t.timestamp < :before ORDER BY t.timestamp")
+    List<UUID> findPendingIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // For risk score calculation : scored transaction counts per account and minute
+    @Query(value = """
+                SELECT account_id AS accountId,
+                       CAST(FLOOR(EXTRACT(EPOCH FROM timestamp) / 60) AS BIGINT) AS epochMinute,
+                       COUNT(*) AS transactionCount
+                FROM transactions
+                WHERE timestamp >= :since AND status <> 'PENDING'
+                GROUP BY 1, 2
+            """, nativeQuery = true)
+    List<VelocityBucketProjection> findVelocityBuckets(@Param("since") LocalDateTime since);
+
+    @Query(value = """
+                SELECT account_id AS accountId,
+                       CAST(FLOOR(EXTRACT(EPOCH FROM timestamp) / 60) AS BIGINT) AS epochMinute,
+                       COUNT(*) AS transactionCount
+                FROM transactions
+                WHERE account_id = :accountId AND timestamp >= :since AND status <> 'PENDING'
+                GROUP BY 1, 2
+            """, nativeQuery = true)
+    List<VelocityBucketProjection> findVelocityBucketsByAccountId(
+            @Param("accountId") UUID accountId,
+            @Param("since") LocalDateTime since
+    );
 }
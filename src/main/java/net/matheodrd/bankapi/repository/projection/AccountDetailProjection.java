@@ -17,6 +17,8 @@ public interface AccountDetailProjection {
 
     BigDecimal getBalance();
 
+    BigDecimal getAvailableBalance();
+
     Currency getCurrency();
 
     AccountStatus getStatus();
@@ -31,11 +33,13 @@ public interface AccountDetailProjection {
 
     BigDecimal getTotalCredits();
 
+    LocalDateTime getLastTransactionAt();
+
     default AccountDetailResponse toResponse() {
         return new AccountDetailResponse(
-                getId(), getAccountNumber(), getAccountHolder(), getBalance(),
+                getId(), getAccountNumber(), getAccountHolder(), getBalance(), getAvailableBalance(),
                 getCurrency(), getStatus(), getCreatedAt(), getUpdatedAt(),
-                getTotalTransactions(), getTotalDebits(), getTotalCredits()
+                getTotalTransactions(), getTotalDebits(), getTotalCredits(), getLastTransactionAt()
         );
     }
 }
\ No newline at end of file
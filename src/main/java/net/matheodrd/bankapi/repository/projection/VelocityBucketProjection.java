@@ -0,0 +1,11 @@
+package net.matheodrd.bankapi.repository.projection;
+
+import java.util.UUID;
+
+public interface VelocityBucketProjection {
+    UUID getAccountId();
+
+    Long getEpochMinute();
+
+    Long getTransactionCount();
+}
@@ -0,0 +1,17 @@
+package net.matheodrd.bankapi.repository.specification;
+
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Optional criteria of the transaction listings, null means "no filter"
+public record TransactionFilter(
+        UUID accountId,
+        TransactionStatus status,
+        TransactionType type,
+        LocalDateTime fromDate,
+        LocalDateTime toDate
+) {
+}
@@ -0,0 +1,34 @@
+package net.matheodrd.bankapi.risk;
+
+import net.matheodrd.bankapi.config.RiskProperties;
+import net.matheodrd.bankapi.model.Money;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "bank.risk.rules.high-amount", name = "enabled", matchIfMissing = true)
+public class HighAmountRule implements RiskRule {
+
+    private final long threshold;
+    private final int points;
+
+    public HighAmountRule(RiskProperties properties) {
+        this.threshold = Money.toMinorUnits(properties.rules().highAmount().threshold());
+        this.points = properties.rules().highAmount().points();
+    }
+
+    @Override
+    public String name() {
+        return "high-amount";
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+
+    @Override
+    public int evaluate(RiskContext context) {
+        return context.amountMinorUnits() > threshold ? points : 0;
+    }
+}
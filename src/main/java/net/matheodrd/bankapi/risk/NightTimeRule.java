@@ -0,0 +1,39 @@
+package net.matheodrd.bankapi.risk;
+
+import net.matheodrd.bankapi.config.RiskProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "bank.risk.rules.night-time", name = "enabled", matchIfMissing = true)
+public class NightTimeRule implements RiskRule {
+
+    private final int startHour;
+    private final int endHour;
+    private final int points;
+
+    public NightTimeRule(RiskProperties properties) {
+        this.startHour = properties.rules().nightTime().startHour();
+        this.endHour = properties.rules().nightTime().endHour();
+        this.points = properties.rules().nightTime().points();
+    }
+
+    @Override
+    public String name() {
+        return "night-time";
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+
+    @Override
+    public int evaluate(RiskContext context) {
+        int hour = context.timestamp().getHour();
+        boolean night = startHour > endHour
+                ? hour >= startHour || hour < endHour
+                : hour >= startHour && hour < endHour;
+        return night ? points : 0;
+    }
+}
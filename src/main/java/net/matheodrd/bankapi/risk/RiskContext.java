@@ -0,0 +1,12 @@
+package net.matheodrd.bankapi.risk;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Amounts are in Money minor units: rules compare magnitudes and do not depend on the currency
+public record RiskContext(
+        UUID accountId,
+        long amountMinorUnits,
+        LocalDateTime timestamp
+) {
+}
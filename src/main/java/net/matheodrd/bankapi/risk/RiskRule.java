@@ -0,0 +1,20 @@
+package net.matheodrd.bankapi.risk;
+
+public interface RiskRule {
+
+    // Relative evaluation cost: in-memory checks should stay below rules that may need I/O
+    int COST_CHEAP = 10;
+    int COST_IO = 100;
+
+    String name();
+
+    int cost();
+
+    // Points added to the risk score, 0 when the rule does not match
+    int evaluate(RiskContext context);
+
+    // Rules reading the account's recent activity are meaningless for old timestamps (imports)
+    default boolean usesHistory() {
+        return false;
+    }
+}
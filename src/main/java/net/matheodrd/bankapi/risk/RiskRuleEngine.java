@@ -0,0 +1,83 @@
+package net.matheodrd.bankapi.risk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.RiskProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Evaluates the registered rules cheapest first and stops as soon as the score is above the flag threshold,
+// so the stored score of a flagged transaction only covers the rules that ran.
+@Component
+@Slf4j
+public class RiskRuleEngine {
+
+    private final CompiledRule[] pipeline;
+    private final CompiledRule[] withoutHistory;
+    private final int flagThreshold;
+
+    public RiskRuleEngine(List<RiskRule> rules, RiskProperties properties, MeterRegistry meterRegistry) {
+        this.flagThreshold = properties.flagThreshold();
+        this.pipeline = rules.stream()
+                .sorted(Comparator.comparingInt(RiskRule::cost).thenComparing(RiskRule::name))
+                .map(rule -> new CompiledRule(
+                        rule,
+                        Counter.builder("bank.risk.rule.hits")
+                                .description("Evaluations where the rule added points")
+                                .tag("rule", rule.name())
+                                .register(meterRegistry),
+                        Timer.builder("bank.risk.rule.evaluation")
+                                .description("Time spent evaluating the rule")
+                                .tag("rule", rule.name())
+                                .register(meterRegistry)
+                ))
+                .toArray(CompiledRule[]::new);
+        this.withoutHistory = Arrays.stream(pipeline)
+                .filter(compiled -> !compiled.rule().usesHistory())
+                .toArray(CompiledRule[]::new);
+
+        log.info("Risk rules compiled: {}", ruleNames());
+    }
+
+    public int evaluate(RiskContext context) {
+        return evaluate(pipeline, context);
+    }
+
+    // Rules that only look at the transaction itself, for historical rows
+    public int evaluateWithoutHistory(RiskContext context) {
+        return evaluate(withoutHistory, context);
+    }
+
+    public List<String> ruleNames() {
+        return Arrays.stream(pipeline).map(compiled -> compiled.rule().name()).toList();
+    }
+
+    private int evaluate(CompiledRule[] rules, RiskContext context) {
+        int score = 0;
+        for (CompiledRule compiled : rules) {
+            long start = System.nanoTime();
+            int points = compiled.rule().evaluate(context);
+            compiled.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (points > 0) {
+                compiled.hits().increment();
+                score += points;
+                log.debug("Risk +{}: rule {} matched for account {}", points, compiled.rule().name(), context.accountId());
+            }
+
+            if (score > flagThreshold) {
+                break;
+            }
+        }
+        return score;
+    }
+
+    private record CompiledRule(RiskRule rule, Counter hits, Timer timer) {
+    }
+}
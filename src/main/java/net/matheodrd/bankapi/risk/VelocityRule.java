@@ -0,0 +1,63 @@
+package net.matheodrd.bankapi.risk;
+
+import net.matheodrd.bankapi.config.RiskProperties;
+import net.matheodrd.bankapi.config.VelocityProperties;
+import net.matheodrd.bankapi.service.VelocityTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(prefix = "bank.risk.rules.velocity", name = "enabled", matchIfMissing = true)
+public class VelocityRule implements RiskRule {
+
+    private final VelocityTracker velocityTracker;
+    private final Duration window;
+    private final int minTransactions;
+    private final int points;
+
+    public VelocityRule(
+            VelocityTracker velocityTracker,
+            RiskProperties properties,
+            VelocityProperties velocityProperties
+    ) {
+        this.velocityTracker = velocityTracker;
+        this.window = properties.rules().velocity().window();
+        this.minTransactions = properties.rules().velocity().minTransactions();
+        this.points = properties.rules().velocity().points();
+
+        if (window.compareTo(velocityProperties.history()) > 0) {
+            throw new IllegalStateException(
+                    "bank.risk.rules.velocity.window (" + window + ") exceeds bank.risk.velocity.history ("
+                            + velocityProperties.history() + ")"
+            );
+        }
+    }
+
+    @Override
+    public String name() {
+        return "velocity";
+    }
+
+    @Override
+    public int cost() {
+        // A cold account is loaded from the database
+        return COST_IO;
+    }
+
+    @Override
+    public boolean usesHistory() {
+        return true;
+    }
+
+    @Override
+    public int evaluate(RiskContext context) {
+        int recentTransactions = velocityTracker.count(
+                context.accountId(),
+                context.timestamp().minus(window),
+                context.timestamp()
+        );
+        return recentTransactions >= minTransactions ? points : 0;
+    }
+}
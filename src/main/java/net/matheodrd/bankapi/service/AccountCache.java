@@ -0,0 +1,108 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.dto.response.AccountDetailResponse;
+import net.matheodrd.bankapi.model.Account;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Read-through cache of account snapshots and account details, both immutable.
+// Puts and evictions inside a database transaction are applied after its commit, so a rolled back change
+// is never cached and a committed one always evicts what was read before it.
+// A load that overlaps an eviction of the same account is not cached: it may have read the row before
+// the evicting transaction committed, and putting it after that eviction would keep the stale value until the TTL.
+@Component
+public class AccountCache {
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String ACCOUNT_DETAILS = "account-details";
+
+    // Eviction counters by key hash, a collision only skips a put
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final Cache accounts;
+    private final Cache details;
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    public AccountCache(CacheManager cacheManager) {
+        this.accounts = cache(cacheManager, ACCOUNTS);
+        this.details = cache(cacheManager, ACCOUNT_DETAILS);
+    }
+
+    // For early checks only: writes that depend on the status or the balance must re-check them in the database
+    public Optional<AccountSnapshot> getAccount(UUID accountId, Supplier<Optional<Account>> loader) {
+        return get(accounts, accountId, AccountSnapshot.class, () -> loader.get().map(AccountSnapshot::of));
+    }
+
+    public Optional<AccountDetailResponse> getDetail(UUID accountId, Supplier<Optional<AccountDetailResponse>> loader) {
+        return get(details, accountId, AccountDetailResponse.class, loader);
+    }
+
+    // Balance, status or transaction aggregates changed
+    public void evict(UUID accountId) {
+        afterCommit(() -> {
+            evictions.incrementAndGet(stripe(accountId));
+            accounts.evict(accountId);
+            details.evict(accountId);
+        });
+    }
+
+    public void evictAll(Collection<UUID> accountIds) {
+        accountIds.forEach(this::evict);
+    }
+
+    // Unknown accounts are not cached
+    private <T> Optional<T> get(Cache cache, UUID accountId, Class<T> type, Supplier<Optional<T>> loader) {
+        T cached = cache.get(accountId, type);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long evictionsBefore = evictions.get(stripe(accountId));
+        Optional<T> loaded = loader.get();
+        loaded.ifPresent(value -> afterCommit(() -> putUnlessEvicted(cache, accountId, value, evictionsBefore)));
+        return loaded;
+    }
+
+    // Checked again after the put, so an eviction running concurrently either sees the value or is seen here
+    private void putUnlessEvicted(Cache cache, UUID accountId, Object value, long evictionsBefore) {
+        int stripe = stripe(accountId);
+        if (evictions.get(stripe) != evictionsBefore) {
+            return;
+        }
+        cache.put(accountId, value);
+        if (evictions.get(stripe) != evictionsBefore) {
+            cache.evict(accountId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(UUID accountId) {
+        return Math.floorMod(accountId.hashCode(), EVICTION_STRIPES);
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Cache not configured: " + name);
+    }
+}
@@ -0,0 +1,102 @@
+package net.matheodrd.bankapi.service;
+
+import lombok.RequiredArgsConstructor;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// IBAN-style account numbers: "GB", two ISO 13616 mod-97 check digits, then a 20-digit sequence number.
+// Numbers are unique by construction: each instance reserves blocks of BLOCK_SIZE values from
+// account_number_seq and hands them out from memory, so only one in BLOCK_SIZE calls reaches the database.
+@Component
+@RequiredArgsConstructor
+public class AccountNumberGenerator {
+
+    // Must match INCREMENT BY of account_number_seq (V11)
+    static final int BLOCK_SIZE = 100;
+
+    private static final int LENGTH = 24;
+    private static final int BBAN_START = 4;
+
+    // "GB00" moved after the BBAN with letters as numbers (G = 16, B = 11)
+    private static final int[] COUNTRY_DIGITS = {1, 6, 1, 1, 0, 0};
+
+    private final AccountRepository accountRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long limit;
+
+    public String next() {
+        long value;
+        lock.lock();
+        try {
+            if (next == limit) {
+                next = accountRepository.nextAccountNumberBlock();
+                limit = next + BLOCK_SIZE;
+            }
+            value = next++;
+        } finally {
+            lock.unlock();
+        }
+        return format(value);
+    }
+
+    // For bulk creation: the rest of the current block first, then all the blocks still needed in one query
+    public List<String> next(int count) {
+        long[] values = new long[count];
+        int taken = 0;
+        lock.lock();
+        try {
+            while (taken < count && next < limit) {
+                values[taken++] = next++;
+            }
+            if (taken < count) {
+                int blocks = (count - taken + BLOCK_SIZE - 1) / BLOCK_SIZE;
+                for (long start : accountRepository.nextAccountNumberBlocks(blocks)) {
+                    next = start;
+                    limit = start + BLOCK_SIZE;
+                    while (taken < count && next < limit) {
+                        values[taken++] = next++;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        List<String> numbers = new ArrayList<>(count);
+        for (long value : values) {
+            numbers.add(format(value));
+        }
+        return numbers;
+    }
+
+    static String format(long sequenceValue) {
+        char[] chars = new char[LENGTH];
+        chars[0] = 'G';
+        chars[1] = 'B';
+
+        long remaining = sequenceValue;
+        for (int i = LENGTH - 1; i >= BBAN_START; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        int mod = 0;
+        for (int i = BBAN_START; i < LENGTH; i++) {
+            mod = (mod * 10 + chars[i] - '0') % 97;
+        }
+        for (int digit : COUNTRY_DIGITS) {
+            mod = (mod * 10 + digit) % 97;
+        }
+
+        int checkDigits = 98 - mod;
+        chars[2] = (char) ('0' + checkDigits / 10);
+        chars[3] = (char) ('0' + checkDigits % 10);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,188 @@
+package net.matheodrd.bankapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.AccountOnboardingProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
+import net.matheodrd.bankapi.exception.InvalidImportException;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.ingest.AccountImportResult;
+import net.matheodrd.bankapi.ingest.AccountImportRow;
+import net.matheodrd.bankapi.ingest.AccountResultWriter;
+import net.matheodrd.bankapi.ingest.AccountRowReader;
+import net.matheodrd.bankapi.ingest.CopyTextEncoder;
+import net.matheodrd.bankapi.ingest.CsvAccountReader;
+import net.matheodrd.bankapi.ingest.CsvAccountResultWriter;
+import net.matheodrd.bankapi.ingest.NdjsonAccountReader;
+import net.matheodrd.bankapi.ingest.NdjsonAccountResultWriter;
+import net.matheodrd.bankapi.ingest.PgCopy;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.id.UuidV7;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Opens accounts in bulk from a stream of CreateAccountRequests. Rows are validated like POST /accounts,
+// valid ones get account numbers reserved in blocks and are inserted with COPY, one database transaction per chunk.
+// The result of every row (new id and account number, or the reason it was refused) is streamed back in input
+// order once its chunk is committed, so memory stays bounded by the chunk size.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountOnboardingService {
+
+    private static final String COPY = """
+            COPY accounts (id, account_number, account_holder, balance, currency, status)
+            FROM STDIN""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final ReadConsistency readConsistency;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AccountOnboardingProperties properties;
+
+    public void onboard(ExportFormat format, InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        List<PendingAccount> chunk = new ArrayList<>(properties.chunkSize());
+        long[] totals = new long[2];
+
+        try (AccountRowReader reader = openReader(format, in);
+             AccountResultWriter writer = openWriter(format, out)) {
+            while (true) {
+                AccountImportRow row;
+                try {
+                    row = reader.next();
+                } catch (InvalidImportException e) {
+                    // The input cannot be read any further, the rows before are still opened
+                    flush(chunk, writer, totals);
+                    writer.write(AccountImportResult.rejected(reader.line(), null, e.getMessage()));
+                    totals[1]++;
+                    break;
+                }
+                if (row == null) {
+                    flush(chunk, writer, totals);
+                    break;
+                }
+
+                chunk.add(validate(row));
+                if (chunk.size() == properties.chunkSize()) {
+                    flush(chunk, writer, totals);
+                }
+            }
+        }
+
+        log.info("Onboarded {} accounts ({} rows rejected) as {} in {} ms",
+                totals[0], totals[1], format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private PendingAccount validate(AccountImportRow row) {
+        BigDecimal initialBalance;
+        Currency currency;
+        try {
+            initialBalance = row.initialBalance() == null ? null : new BigDecimal(row.initialBalance());
+        } catch (NumberFormatException e) {
+            return PendingAccount.rejected(row, "initialBalance: not a number");
+        }
+        try {
+            currency = row.currency() == null ? null : Currency.valueOf(row.currency());
+        } catch (IllegalArgumentException e) {
+            return PendingAccount.rejected(row, "currency: unknown currency " + row.currency());
+        }
+
+        CreateAccountRequest request = new CreateAccountRequest(row.accountHolder(), initialBalance, currency);
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return PendingAccount.rejected(row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return new PendingAccount(row, request, null);
+    }
+
+    private void flush(List<PendingAccount> chunk, AccountResultWriter writer, long[] totals) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<PendingAccount> valid = chunk.stream().filter(pending -> pending.error() == null).toList();
+        List<NewAccount> accounts = new ArrayList<>(valid.size());
+        if (!valid.isEmpty()) {
+            List<String> accountNumbers = accountNumberGenerator.next(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                accounts.add(new NewAccount(UuidV7.next(), accountNumbers.get(i), valid.get(i).request()));
+            }
+            transactionTemplate.executeWithoutResult(txStatus -> copy(accounts));
+            readConsistency.recordWrites(accounts.stream().map(NewAccount::id).toList());
+        }
+
+        int created = 0;
+        for (PendingAccount pending : chunk) {
+            if (pending.error() != null) {
+                writer.write(AccountImportResult.rejected(pending.row().line(), pending.row().reference(), pending.error()));
+            } else {
+                NewAccount account = accounts.get(created++);
+                writer.write(AccountImportResult.created(pending.row(), account.id(), account.accountNumber()));
+            }
+        }
+        writer.flush();
+
+        totals[0] += created;
+        totals[1] += chunk.size() - created;
+        chunk.clear();
+    }
+
+    private void copy(List<NewAccount> accounts) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> PgCopy.copyIn(connection, COPY, accounts, (buffer, account) -> {
+            buffer.append(account.id()).append('\t')
+                    .append(account.accountNumber()).append('\t');
+            CopyTextEncoder.appendText(buffer, account.request().accountHolder());
+            buffer.append('\t')
+                    .append(account.request().initialBalance().toPlainString()).append('\t')
+                    .append(account.request().currency().name()).append('\t')
+                    .append(AccountStatus.ACTIVE.name()).append('\n');
+        }));
+    }
+
+    private AccountRowReader openReader(ExportFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonAccountReader(objectMapper, in);
+            case CSV -> new CsvAccountReader(in);
+        };
+    }
+
+    private AccountResultWriter openWriter(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonAccountResultWriter(objectMapper, out);
+            case CSV -> new CsvAccountResultWriter(out);
+        };
+    }
+
+    private record PendingAccount(AccountImportRow row, CreateAccountRequest request, String error) {
+
+        static PendingAccount rejected(AccountImportRow row, String error) {
+            return new PendingAccount(row, null, error);
+        }
+    }
+
+    private record NewAccount(UUID id, String accountNumber, CreateAccountRequest request) {
+    }
+}
@@ -2,6 +2,8 @@ package net.matheodrd.bankapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.concurrency.OptimisticLockRetry;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
 import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
 import net.matheodrd.bankapi.dto.request.UpdateAccountStatusRequest;
 import net.matheodrd.bankapi.dto.response.AccountDetailResponse;
@@ -14,9 +16,10 @@ import net.matheodrd.bankapi.repository.AccountRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigInteger;
 import java.util.UUID;
 
 @Service
@@ -27,53 +30,57 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final AccountCache accountCache;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final ReadConsistency readConsistency;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final TransactionTemplate transactionTemplate;
 
     public Page<AccountResponse> findAll(Pageable pageable) {
         return accountRepository.findAll(pageable)
                 .map(accountMapper::toResponse);
     }
 
+    // Cache misses are loaded from the primary: a lagging replica's row would otherwise stay cached for the whole
+    // TTL, and no eviction would come to drop it, the write it missed having been evicted before.
     public AccountDetailResponse findById(UUID id) {
-        return accountRepository.findDetailById(id)
-                .map(accountMapper::toDetailResponse)
+        return accountCache.getDetail(id, () -> readConsistency.fromPrimary(
+                        () -> accountRepository.findDetailById(id).map(accountMapper::toDetailResponse)))
                 .orElseThrow(() -> new EntityNotFoundException("Account not found: " + id));
     }
 
     @Transactional
     public AccountResponse create(CreateAccountRequest request) {
-        String accountNumber = generateAccountNumber();
+        String accountNumber = accountNumberGenerator.next();
 
         Account account = accountMapper.toEntityWithDefaults(request, accountNumber);
 
         Account saved = accountRepository.save(account);
+        readConsistency.recordWrite(saved.getId());
         log.info("Account created: {}", saved.getAccountNumber());
 
         return accountMapper.toResponse(saved);
     }
 
-    @Transactional
+    // Runs in its own transaction so that it can be re-run when a balance change bumped the version in between
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AccountResponse updateStatus(UUID id, UpdateAccountStatusRequest request) {
+        return optimisticLockRetry.execute("account.update-status", id,
+                () -> transactionTemplate.execute(txStatus -> updateStatusInTransaction(id, request)));
+    }
+
+    private AccountResponse updateStatusInTransaction(UUID id, UpdateAccountStatusRequest request) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found: " + id));
 
         AccountStatus oldStatus = account.getStatus();
         account.setStatus(request.status());
+        accountCache.evict(id);
+        readConsistency.recordWrite(id);
 
         log.info("Account {} status changed: {} -> {}",
                 account.getAccountNumber(), oldStatus, request.status());
 
         return accountMapper.toResponse(account);
     }
-
-    private String generateAccountNumber() {
-        String number;
-        do {
-            BigInteger max = new BigInteger("9999999999999999999999");
-            BigInteger randomBigInt = new BigInteger(max.bitLength(), new java.util.Random());
-            randomBigInt = randomBigInt.mod(max.add(BigInteger.ONE));
-
-            number = "GB" + String.format("%022d", randomBigInt);
-        } while (accountRepository.existsByAccountNumber(number));
-        return number;
-    }
 }
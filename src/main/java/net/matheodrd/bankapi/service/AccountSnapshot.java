@@ -0,0 +1,33 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.Currency;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Immutable copy of an account row as cached by AccountCache, never a managed entity
+public record AccountSnapshot(
+        UUID id,
+        String accountNumber,
+        Currency currency,
+        AccountStatus status,
+        BigDecimal balance,
+        BigDecimal heldAmount
+) {
+    public static AccountSnapshot of(Account account) {
+        return new AccountSnapshot(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getCurrency(),
+                account.getStatus(),
+                account.getBalance(),
+                account.getHeldAmount()
+        );
+    }
+
+    public BigDecimal availableBalance() {
+        return balance.subtract(heldAmount);
+    }
+}
@@ -0,0 +1,71 @@
+package net.matheodrd.bankapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.AccountStatsProperties;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Recomputes account_stats from the transactions table, e.g. after a manual data fix.
+// Each chunk locks its stats rows before aggregating: inserts that commit meanwhile either are in the
+// aggregate or wait for the rebuild and add themselves on top of it, so none is lost.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountStatsService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final AccountStatsRepository accountStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountCache accountCache;
+    private final AccountStatsProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${bank.account-stats.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Returns the number of accounts recomputed, or -1 when a rebuild is already running
+    public long rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Account stats rebuild already running");
+            return -1;
+        }
+
+        try {
+            long start = System.nanoTime();
+            long accounts = 0;
+            UUID after = FIRST_ID;
+
+            while (true) {
+                List<UUID> chunk = accountStatsRepository.findAccountIdsAfter(after, properties.rebuildChunkSize());
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                transactionTemplate.executeWithoutResult(txStatus -> {
+                    accountStatsRepository.insertMissing(chunk);
+                    accountStatsRepository.lockAll(chunk);
+                    accountStatsRepository.recompute(chunk);
+                    accountCache.evictAll(chunk);
+                });
+
+                accounts += chunk.size();
+                after = chunk.getLast();
+            }
+
+            log.info("Account stats rebuilt for {} accounts in {} ms", accounts, (System.nanoTime() - start) / 1_000_000);
+            return accounts;
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.HoldProperties;
+import net.matheodrd.bankapi.repository.HoldRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Releases expired holds. Due holds are read in expiry order from the partial index on active holds,
+// so the cost of a sweep depends on the number of holds due, not on the number of open or past holds.
+@Component
+@Slf4j
+public class HoldExpirySweeper {
+
+    private final HoldRepository holdRepository;
+    private final HoldService holdService;
+    private final HoldProperties properties;
+    private final Timer sweepTimer;
+    private final AtomicLong activeHolds = new AtomicLong();
+
+    public HoldExpirySweeper(
+            HoldRepository holdRepository,
+            HoldService holdService,
+            HoldProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.holdRepository = holdRepository;
+        this.holdService = holdService;
+        this.properties = properties;
+        this.sweepTimer = Timer.builder("bank.holds.sweep")
+                .description("Time taken by an expiry sweep")
+                .register(meterRegistry);
+        Gauge.builder("bank.holds.active", activeHolds, AtomicLong::get)
+                .description("Active holds, refreshed every bank.holds.active-count-interval")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${bank.holds.sweep-interval:PT10S}")
+    public void sweep() {
+        long start = System.nanoTime();
+        int expired = 0;
+
+        while (true) {
+            List<UUID> due = holdRepository.findExpiredIds(LocalDateTime.now(), Limit.of(properties.sweepBatchSize()));
+            if (due.isEmpty()) {
+                break;
+            }
+            int batch = holdService.expire(due);
+            expired += batch;
+            // A short page means nothing else is due, none expired means the rest is locked by captures or releases
+            if (due.size() < properties.sweepBatchSize() || batch == 0) {
+                break;
+            }
+        }
+
+        sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (expired > 0) {
+            log.info("Released {} expired holds", expired);
+        }
+    }
+
+    // Scans the partial index of active holds, kept off the sweep so that sweeps stay O(holds due)
+    @Scheduled(fixedDelayString = "${bank.holds.active-count-interval:PT5M}")
+    public void countActive() {
+        activeHolds.set(holdRepository.countActive());
+    }
+}
@@ -0,0 +1,233 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.HoldProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.request.CaptureHoldRequest;
+import net.matheodrd.bankapi.dto.request.CreateHoldRequest;
+import net.matheodrd.bankapi.dto.response.HoldResponse;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
+import net.matheodrd.bankapi.exception.AccountSuspendedException;
+import net.matheodrd.bankapi.exception.EntityNotFoundException;
+import net.matheodrd.bankapi.exception.HoldNotActiveException;
+import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidHoldException;
+import net.matheodrd.bankapi.mapper.HoldMapper;
+import net.matheodrd.bankapi.model.Hold;
+import net.matheodrd.bankapi.model.Money;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.HoldStatus;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.model.id.UuidOrder;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.HoldRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+// Card-style authorizations: place reserves funds (held_amount) without moving them, capture turns the hold into
+// a DEBIT, release or expiry gives the funds back. Debits check balance - held_amount, so held funds cannot be spent.
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class HoldService {
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final AccountStatsRepository accountStatsRepository;
+    private final TransactionRepository transactionRepository;
+    private final HoldMapper holdMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountLockStripes accountLocks;
+    private final AccountCache accountCache;
+    private final ReadConsistency readConsistency;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HoldProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // Read again from the primary when the replica does not have the hold yet or its account was written
+    // within the read-your-writes window, like transactions. Not transactional, so each read is routed on its own.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public HoldResponse findById(UUID id) {
+        Optional<Hold> hold = holdRepository.findById(id);
+        if (hold.isEmpty() || readConsistency.recentlyWritten(hold.get().getAccountId())) {
+            hold = readConsistency.fromPrimary(() -> holdRepository.findById(id));
+        }
+        return hold
+                .map(holdMapper::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Hold not found: " + id));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public HoldResponse place(CreateHoldRequest request) {
+        Duration ttl = request.expiresIn() != null ? request.expiresIn() : properties.defaultTtl();
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(properties.maxTtl()) > 0) {
+            throw new InvalidHoldException("Hold expiry must be positive and at most " + properties.maxTtl());
+        }
+
+        return accountLocks.withLock(request.accountId(),
+                () -> transactionTemplate.execute(txStatus -> placeInTransaction(request, ttl)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public HoldResponse capture(UUID id, CaptureHoldRequest request) {
+        return resolve(id, (hold, now) -> captureInTransaction(hold, request, now));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public HoldResponse release(UUID id) {
+        return resolve(id, (hold, now) -> {
+            accountRepository.releaseHeld(hold.getAccountId(), hold.getAmount());
+            hold.setStatus(HoldStatus.RELEASED);
+            hold.setResolvedAt(now);
+            log.info("Hold {} released", hold.getId());
+            return hold;
+        });
+    }
+
+    // Called by HoldExpirySweeper with ids due for expiry, returns the number of holds expired
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int expire(List<UUID> ids) {
+        return transactionTemplate.execute(txStatus -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Hold> holds = holdRepository.lockActiveByIdIn(ids).stream()
+                    .filter(hold -> !hold.getExpiresAt().isAfter(now))
+                    .toList();
+
+            // One update per account, in account id order
+            Map<UUID, BigDecimal> released = new TreeMap<>(UuidOrder.DATABASE);
+            for (Hold hold : holds) {
+                released.merge(hold.getAccountId(), hold.getAmount(), BigDecimal::add);
+                hold.setStatus(HoldStatus.EXPIRED);
+                hold.setResolvedAt(now);
+            }
+            released.forEach(accountRepository::releaseHeld);
+
+            accountCache.evictAll(released.keySet());
+            readConsistency.recordWrites(released.keySet());
+            meterRegistry.counter("bank.holds.resolved", "outcome", "expired").increment(holds.size());
+            return holds.size();
+        });
+    }
+
+    private HoldResponse placeInTransaction(CreateHoldRequest request, Duration ttl) {
+        AccountSnapshot account = accountCache.getAccount(request.accountId(), () -> accountRepository.findById(request.accountId()))
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        if (account.status() == AccountStatus.SUSPENDED) {
+            throw new AccountSuspendedException("Account is suspended");
+        }
+
+        // The cached status is only an early check, the reservation re-checks it in the same statement
+        Money amount = Money.of(request.amount(), account.currency());
+        if (accountRepository.reserve(account.id(), amount.toBigDecimal()).isEmpty()) {
+            throw reservationRejected(account.id());
+        }
+
+        Hold hold = holdRepository.save(Hold.builder()
+                .accountId(account.id())
+                .amount(amount.toBigDecimal())
+                .currency(account.currency())
+                .description(request.description())
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+
+        accountCache.evict(account.id());
+        readConsistency.recordWrite(account.id());
+        meterRegistry.counter("bank.holds.placed").increment();
+        log.info("Hold {} placed: {} {} on account {}", hold.getId(), request.amount(), account.currency(),
+                account.accountNumber());
+
+        return holdMapper.toResponse(hold);
+    }
+
+    // Only reached when the conditional reservation matched no row
+    private RuntimeException reservationRejected(UUID accountId) {
+        AccountStatus status = accountRepository.findStatusById(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        if (status == AccountStatus.SUSPENDED) {
+            return new AccountSuspendedException("Account is suspended");
+        }
+        return new InsufficientBalanceException("Insufficient available balance");
+    }
+
+    private Hold captureInTransaction(Hold hold, CaptureHoldRequest request, LocalDateTime now) {
+        BigDecimal captured = request.amount() != null ? request.amount() : hold.getAmount();
+        if (captured.compareTo(hold.getAmount()) > 0) {
+            throw new InvalidHoldException("Cannot capture more than the held amount of " + hold.getAmount());
+        }
+        Money amount = Money.of(captured, hold.getCurrency());
+
+        accountRepository.captureHeld(hold.getAccountId(), hold.getAmount(), amount.toBigDecimal())
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+
+        // Authorized when the hold was placed, so the capture is not scored again
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .accountId(hold.getAccountId())
+                .amount(amount.toBigDecimal())
+                .currency(hold.getCurrency())
+                .type(TransactionType.DEBIT)
+                .category(TransactionCategory.PAYMENT)
+                .description(hold.getDescription())
+                .status(TransactionStatus.COMPLETED)
+                .riskScore(0)
+                .timestamp(now)
+                .build());
+        accountStatsRepository.increment(hold.getAccountId(), 1, amount.toBigDecimal(), BigDecimal.ZERO, now);
+        eventPublisher.publishEvent(TransactionCreatedEvent.of(transaction));
+
+        hold.setStatus(HoldStatus.CAPTURED);
+        hold.setResolvedAt(now);
+        hold.setTransactionId(transaction.getId());
+        log.info("Hold {} captured: {} of {}", hold.getId(), captured, hold.getAmount());
+        return hold;
+    }
+
+    private HoldResponse resolve(UUID id, BiFunction<Hold, LocalDateTime, Hold> action) {
+        // A hold placed just before may not have reached the replicas yet
+        UUID accountId = readConsistency.fromPrimary(() -> holdRepository.findById(id))
+                .map(Hold::getAccountId)
+                .orElseThrow(() -> new EntityNotFoundException("Hold not found: " + id));
+
+        // Same stripe as the account's transactions, then the hold row before the account row, like the sweeper
+        return accountLocks.withLock(accountId, () -> transactionTemplate.execute(txStatus -> {
+            Hold hold = holdRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Hold not found: " + id));
+            LocalDateTime now = LocalDateTime.now();
+            if (hold.getStatus() != HoldStatus.ACTIVE) {
+                throw new HoldNotActiveException("Hold is " + hold.getStatus());
+            }
+            // Left to the sweeper, which releases the funds
+            if (!hold.getExpiresAt().isAfter(now)) {
+                throw new HoldNotActiveException("Hold has expired");
+            }
+
+            Hold resolved = action.apply(hold, now);
+            accountCache.evict(accountId);
+            readConsistency.recordWrite(accountId);
+            meterRegistry.counter("bank.holds.resolved", "outcome", resolved.getStatus().name().toLowerCase()).increment();
+            return holdMapper.toResponse(resolved);
+        }));
+    }
+}
@@ -0,0 +1,38 @@
+package net.matheodrd.bankapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import net.matheodrd.bankapi.config.IdempotencyProperties;
+import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Bounded cache of recent idempotency keys. Entries expire after bank.idempotency.retention like the database rows,
+// so a key the purge has forgotten is not answered from memory either.
+@Component
+public class IdempotencyCache {
+
+    private final Cache<String, TransactionResponse> responses;
+
+    @Autowired
+    public IdempotencyCache(IdempotencyProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    IdempotencyCache(IdempotencyProperties properties, Ticker ticker) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.retention())
+                .ticker(ticker)
+                .build();
+    }
+
+    public TransactionResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public void put(String key, TransactionResponse response) {
+        responses.put(key, response);
+    }
+}
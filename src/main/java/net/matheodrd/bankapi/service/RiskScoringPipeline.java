@@ -0,0 +1,209 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.RiskScoringProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
+import net.matheodrd.bankapi.event.TransactionScoredEvent;
+import net.matheodrd.bankapi.model.Money;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Scores PENDING transactions in batches when bank.risk.scoring.mode is async.
+// The in-memory queue is only a fast path: anything dropped or lost on restart is found again by the sweep.
+@Component
+@ConditionalOnProperty(prefix = "bank.risk.scoring", name = "mode", havingValue = "async")
+@Slf4j
+public class RiskScoringPipeline {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final RiskCalculationService riskCalculationService;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountLockStripes accountLocks;
+    private final AccountCache accountCache;
+    private final ReadConsistency readConsistency;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RiskScoringProperties properties;
+
+    private final BlockingQueue<UUID> queue;
+    private final Timer scoringLag;
+    private final DistributionSummary batchSize;
+    private ExecutorService workers;
+
+    public RiskScoringPipeline(
+            TransactionRepository transactionRepository,
+            AccountRepository accountRepository,
+            RiskCalculationService riskCalculationService,
+            TransactionTemplate transactionTemplate,
+            AccountLockStripes accountLocks,
+            AccountCache accountCache,
+            ReadConsistency readConsistency,
+            ApplicationEventPublisher eventPublisher,
+            RiskScoringProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.riskCalculationService = riskCalculationService;
+        this.transactionTemplate = transactionTemplate;
+        this.accountLocks = accountLocks;
+        this.accountCache = accountCache;
+        this.readConsistency = readConsistency;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+
+        Gauge.builder("bank.risk.scoring.queue.depth", queue, BlockingQueue::size)
+                .description("PENDING transactions waiting for a scoring worker")
+                .register(meterRegistry);
+        this.scoringLag = Timer.builder("bank.risk.scoring.lag")
+                .description("Time between a transaction being accepted and being scored")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("bank.risk.scoring.batch.size")
+                .description("Transactions scored per batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        workers = Executors.newFixedThreadPool(
+                properties.workers(),
+                Thread.ofPlatform().name("risk-scoring-", 0).factory()
+        );
+        for (int i = 0; i < properties.workers(); i++) {
+            workers.submit(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        if (event.status() == TransactionStatus.PENDING) {
+            enqueue(event.transactionId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.risk.scoring.sweep-interval:PT30S}")
+    public void sweep() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.sweepMinAge());
+        List<UUID> stale = transactionRepository.findPendingIdsBefore(before, Limit.of(properties.queueCapacity()));
+        if (!stale.isEmpty()) {
+            log.info("Re-enqueuing {} PENDING transactions older than {}", stale.size(), properties.sweepMinAge());
+            stale.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(UUID transactionId) {
+        if (!queue.offer(transactionId)) {
+            log.warn("Risk scoring queue full, transaction {} left for the sweep", transactionId);
+        }
+    }
+
+    private void runWorker() {
+        List<UUID> batch = new ArrayList<>(properties.batchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, properties.batchSize() - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // The transactions stay PENDING and are retried by the sweep
+                log.error("Risk scoring batch of {} transactions failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    public void process(List<UUID> transactionIds) {
+        // Just committed, a replica may not have them yet
+        Set<UUID> accountIds = readConsistency.fromPrimary(() -> transactionRepository.findAllById(transactionIds)).stream()
+                .filter(transaction -> transaction.getStatus() == TransactionStatus.PENDING)
+                .map(Transaction::getAccountId)
+                .collect(Collectors.toSet());
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        // Same stripes as synchronous creation, so balance changes and velocity history stay ordered per account
+        accountLocks.withLocks(accountIds, () -> transactionTemplate.execute(txStatus -> settle(transactionIds)));
+    }
+
+    private Void settle(List<UUID> transactionIds) {
+        List<Transaction> pending = transactionRepository.findPendingByIdInForUpdate(transactionIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Transaction transaction : pending) {
+            int riskScore = riskCalculationService.calculateRiskScore(
+                    transaction.getAccountId(),
+                    Money.toMinorUnits(transaction.getAmount()),
+                    transaction.getTimestamp()
+            );
+            TransactionStatus status = riskCalculationService.determineStatus(riskScore);
+
+            // The balance may have changed since the transaction was accepted
+            if (status == TransactionStatus.COMPLETED
+                    && applyBalanceChange(transaction.getAccountId(), transaction.getAmount(), transaction.getType()).isEmpty()) {
+                status = TransactionStatus.REJECTED;
+                log.info("Transaction {} rejected: insufficient balance or account suspended", transaction.getId());
+            }
+
+            transaction.setRiskScore(riskScore);
+            transaction.setStatus(status);
+            accountCache.evict(transaction.getAccountId());
+            readConsistency.recordWrite(transaction.getAccountId());
+            eventPublisher.publishEvent(TransactionScoredEvent.of(transaction));
+
+            scoringLag.record(Duration.between(transaction.getTimestamp(), now).abs());
+        }
+
+        batchSize.record(pending.size());
+        log.debug("Scored {} PENDING transactions", pending.size());
+        return null;
+    }
+
+    private Optional<BigDecimal> applyBalanceChange(UUID accountId, BigDecimal amount, TransactionType type) {
+        return type == TransactionType.DEBIT
+                ? accountRepository.debit(accountId, amount)
+                : accountRepository.credit(accountId, amount);
+    }
+}
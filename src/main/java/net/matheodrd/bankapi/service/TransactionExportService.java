@@ -0,0 +1,133 @@
+package net.matheodrd.bankapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.TransactionExportProperties;
+import net.matheodrd.bankapi.export.CsvTransactionWriter;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.export.ExportRow;
+import net.matheodrd.bankapi.export.NdjsonTransactionWriter;
+import net.matheodrd.bankapi.export.TransactionRowWriter;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Streams transactions from a forward-only cursor straight to the response: rows are written as they are fetched,
+// so memory does not depend on the size of the export
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    private static final String SELECT = """
+            SELECT id, account_id, amount, currency, type, category, description, status, risk_score, timestamp
+            FROM transactions
+            WHERE 1 = 1""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            TransactionExportProperties properties
+    ) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(properties.fetchSize());
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+
+        // The PostgreSQL driver only fetches by batches of fetchSize rows when auto-commit is off
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(
+            UUID accountId,
+            TransactionStatus status,
+            TransactionType type,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        // Same filters as the listings, only the supplied ones are sent (see TransactionSpecifications)
+        if (accountId != null) {
+            sql.append(" AND account_id = :accountId");
+            params.addValue("accountId", accountId);
+        }
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", status.name());
+        }
+        if (type != null) {
+            sql.append(" AND type = :type");
+            params.addValue("type", type.name());
+        }
+        if (fromDate != null) {
+            sql.append(" AND timestamp >= :fromDate");
+            params.addValue("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            sql.append(" AND timestamp <= :toDate");
+            params.addValue("toDate", toDate);
+        }
+        sql.append(" ORDER BY timestamp, id");
+
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+
+        try (TransactionRowWriter writer = openWriter(format, out)) {
+            readOnlyTransaction.executeWithoutResult(txStatus ->
+                    jdbcTemplate.query(sql.toString(), params, resultSet -> {
+                        ExportRow row = new ExportRow(
+                                resultSet.getObject("id", UUID.class),
+                                resultSet.getObject("account_id", UUID.class),
+                                resultSet.getBigDecimal("amount"),
+                                resultSet.getString("currency"),
+                                resultSet.getString("type"),
+                                resultSet.getString("category"),
+                                resultSet.getString("description"),
+                                resultSet.getString("status"),
+                                resultSet.getInt("risk_score"),
+                                resultSet.getObject("timestamp", LocalDateTime.class)
+                        );
+                        try {
+                            writer.write(row);
+                        } catch (IOException e) {
+                            // Usually the client went away, which also ends the query
+                            throw new UncheckedIOException(e);
+                        }
+                        rows.incrementAndGet();
+                    }));
+        }
+
+        log.info("Exported {} transactions as {} in {} ms",
+                rows.get(), format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private TransactionRowWriter openWriter(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonTransactionWriter(objectMapper, out);
+            case CSV -> new CsvTransactionWriter(out);
+        };
+    }
+}
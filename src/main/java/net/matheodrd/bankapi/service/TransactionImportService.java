@@ -0,0 +1,252 @@
+package net.matheodrd.bankapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.TransactionImportProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.response.TransactionImportResponse;
+import net.matheodrd.bankapi.exception.InvalidImportException;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.ingest.CopyTextEncoder;
+import net.matheodrd.bankapi.ingest.CsvTransactionReader;
+import net.matheodrd.bankapi.ingest.ImportRow;
+import net.matheodrd.bankapi.ingest.NdjsonTransactionReader;
+import net.matheodrd.bankapi.ingest.PgCopy;
+import net.matheodrd.bankapi.ingest.TransactionRowReader;
+import net.matheodrd.bankapi.model.Money;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.model.id.UuidOrder;
+import net.matheodrd.bankapi.model.id.UuidV7;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Loads historical transactions with COPY FROM STDIN, chunk by chunk: only one chunk of rows is in memory,
+// whatever the size of the input. Each chunk is one database transaction which also creates the missing monthly
+// partitions and adds the chunk to the balances and to account_stats, so accounts stay consistent with the rows
+// already loaded if the import fails half way. The error then tells how many rows are in, and the same file is
+// resumed with skip set to that count. No events are published: history is not scored again (unless asked),
+// nor fed to the velocity windows.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+
+    private static final String COPY = """
+            COPY transactions (id, account_id, amount, currency, type, category, description, status, risk_score, timestamp)
+            FROM STDIN""";
+
+    private static final String ACCOUNT_CURRENCIES = "SELECT id, currency FROM accounts WHERE id = ANY (?)";
+
+    // Only COMPLETED transactions change the balance, as for live ones
+    private static final String ADD_TO_BALANCE =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE id = ?";
+
+    // Same as AccountStatsRepository.increment, batched
+    private static final String ADD_TO_STATS = """
+            INSERT INTO account_stats (account_id, transaction_count, total_debits, total_credits, last_transaction_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (account_id) DO UPDATE SET
+                transaction_count = account_stats.transaction_count + EXCLUDED.transaction_count,
+                total_debits = account_stats.total_debits + EXCLUDED.total_debits,
+                total_credits = account_stats.total_credits + EXCLUDED.total_credits,
+                last_transaction_at = GREATEST(account_stats.last_transaction_at, EXCLUDED.last_transaction_at)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RiskCalculationService riskCalculationService;
+    private final AccountCache accountCache;
+    private final ReadConsistency readConsistency;
+    private final ObjectMapper objectMapper;
+    private final TransactionImportProperties properties;
+
+    public TransactionImportResponse importTransactions(ExportFormat format, InputStream in, boolean rescore, long skip)
+            throws IOException {
+        long start = System.nanoTime();
+        int chunkSize = properties.chunkSize();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Set<YearMonth> knownMonths = new HashSet<>();
+        long[] counts = new long[TransactionStatus.values().length];
+        long skipped = 0;
+        long imported = 0;
+
+        try (TransactionRowReader reader = openReader(format, in)) {
+            ImportRow row;
+            // Rows already loaded by an earlier attempt
+            while (skipped < skip && reader.next() != null) {
+                skipped++;
+            }
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    imported += load(chunk, rescore, knownMonths, counts);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += load(chunk, rescore, knownMonths, counts);
+            }
+        } catch (InvalidImportException e) {
+            long loaded = skipped + imported;
+            throw new InvalidImportException(e.getMessage() + " (" + loaded + " rows imported before, resume with skip="
+                    + loaded + ")");
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} historical transactions as {} in {} ms ({} skipped)", imported, format, durationMs, skipped);
+        return new TransactionImportResponse(
+                imported,
+                skipped,
+                counts[TransactionStatus.COMPLETED.ordinal()],
+                counts[TransactionStatus.FLAGGED.ordinal()],
+                counts[TransactionStatus.REJECTED.ordinal()],
+                rescore,
+                durationMs
+        );
+    }
+
+    private int load(List<ImportRow> chunk, boolean rescore, Set<YearMonth> knownMonths, long[] counts) {
+        // Only in-memory rules run, so scoring stays cheap next to the COPY
+        List<ImportRow> rows = rescore ? chunk.stream().map(this::rescore).toList() : chunk;
+
+        Map<UUID, AccountDelta> deltas = new TreeMap<>(UuidOrder.DATABASE);
+        Set<YearMonth> newMonths = new HashSet<>();
+        for (ImportRow row : rows) {
+            deltas.computeIfAbsent(row.accountId(), id -> new AccountDelta()).add(row);
+            YearMonth month = YearMonth.from(row.timestamp());
+            if (!knownMonths.contains(month)) {
+                newMonths.add(month);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(txStatus -> {
+                checkAccounts(deltas, rows);
+                // Rows of a month without partition would all go to the default partition
+                newMonths.forEach(month ->
+                        jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", String.class, month.atDay(1)));
+                copy(rows);
+                applyDeltas(deltas);
+            });
+        } catch (DuplicateKeyException e) {
+            // Ids carried by the file, most likely a part that was imported already
+            throw new InvalidImportException("A transaction id of this chunk is already stored");
+        }
+
+        knownMonths.addAll(newMonths);
+        rows.forEach(row -> counts[row.status().ordinal()]++);
+        accountCache.evictAll(deltas.keySet());
+        readConsistency.recordWrites(deltas.keySet());
+        return rows.size();
+    }
+
+    private ImportRow rescore(ImportRow row) {
+        if (row.status() == TransactionStatus.REJECTED) {
+            return row;
+        }
+        int riskScore = riskCalculationService.calculateHistoricalRiskScore(
+                row.accountId(), Money.toMinorUnits(row.amount()), row.timestamp());
+        return row.withRisk(riskScore, riskCalculationService.determineStatus(riskScore));
+    }
+
+    // Unknown accounts would otherwise fail the whole COPY on the foreign key, without saying which row
+    private void checkAccounts(Map<UUID, AccountDelta> deltas, List<ImportRow> rows) {
+        Map<UUID, Currency> currencies = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ACCOUNT_CURRENCIES);
+            statement.setArray(1, connection.createArrayOf("uuid", deltas.keySet().toArray()));
+            return statement;
+        }, (RowCallbackHandler) resultSet ->
+                currencies.put(resultSet.getObject("id", UUID.class), Currency.valueOf(resultSet.getString("currency"))));
+
+        for (ImportRow row : rows) {
+            Currency currency = currencies.get(row.accountId());
+            if (currency == null) {
+                throw new InvalidImportException("Account not found: " + row.accountId());
+            }
+            if (currency != row.currency()) {
+                throw new InvalidImportException("Transaction in " + row.currency() + " for account " + row.accountId()
+                        + " held in " + currency);
+            }
+        }
+    }
+
+    private void copy(List<ImportRow> rows) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> PgCopy.copyIn(connection, COPY, rows,
+                (buffer, row) -> CopyTextEncoder.append(buffer, row.id() != null ? row.id() : idFor(row), row)));
+    }
+
+    // Time-ordered by when the transaction happened, like the ids of live transactions
+    private static UUID idFor(ImportRow row) {
+        long epochMillis = row.timestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return UuidV7.at(Math.max(0, epochMillis));
+    }
+
+    // In account id order as PostgreSQL sorts it, like the row locks of transfers and batches
+    private void applyDeltas(Map<UUID, AccountDelta> deltas) {
+        List<Object[]> balances = new ArrayList<>(deltas.size());
+        List<Object[]> stats = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> {
+            if (delta.balance.signum() != 0) {
+                balances.add(new Object[]{delta.balance, accountId});
+            }
+            stats.add(new Object[]{accountId, delta.count, delta.debits, delta.credits, Timestamp.valueOf(delta.lastAt)});
+        });
+        jdbcTemplate.batchUpdate(ADD_TO_BALANCE, balances);
+        jdbcTemplate.batchUpdate(ADD_TO_STATS, stats);
+    }
+
+    private TransactionRowReader openReader(ExportFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonTransactionReader(objectMapper, in);
+            case CSV -> new CsvTransactionReader(in);
+        };
+    }
+
+    private static final class AccountDelta {
+        private BigDecimal balance = BigDecimal.ZERO;
+        private BigDecimal debits = BigDecimal.ZERO;
+        private BigDecimal credits = BigDecimal.ZERO;
+        private long count;
+        private LocalDateTime lastAt = LocalDateTime.MIN;
+
+        void add(ImportRow row) {
+            count++;
+            if (row.timestamp().isAfter(lastAt)) {
+                lastAt = row.timestamp();
+            }
+            boolean debit = row.type() == TransactionType.DEBIT;
+            if (debit) {
+                debits = debits.add(row.amount());
+            } else {
+                credits = credits.add(row.amount());
+            }
+            if (row.status() == TransactionStatus.COMPLETED) {
+                balance = debit ? balance.subtract(row.amount()) : balance.add(row.amount());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.matheodrd.bankapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.TransactionPartitionProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keeps monthly partitions of transactions ahead of time (see V12), so inserts never land in the default
+// partition, and optionally detaches the months older than the retention.
+// Detached partitions stay in the database as plain tables, to be archived or dropped by hand.
+// account_stats keeps counting their rows until the next rebuild.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenance {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionPartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${bank.transactions.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        createUpcomingPartitions();
+        if (properties.retentionMonths() > 0) {
+            detachExpiredPartitions();
+        }
+    }
+
+    public List<String> createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            String name = jdbcTemplate.queryForObject(
+                    "SELECT create_transactions_partition(?)", String.class, current.plusMonths(i).atDay(1));
+            if (name != null) {
+                created.add(name);
+            }
+        }
+
+        if (!created.isEmpty()) {
+            log.info("Created transaction partitions {}", created);
+        }
+        return created;
+    }
+
+    public List<String> detachExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(properties.retentionMonths());
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'transactions'::regclass
+                ORDER BY c.relname
+                """, String.class);
+
+        List<String> detached = new ArrayList<>();
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestKept)) {
+                // The name matched the pattern above, so it is safe to inline
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+                detached.add(partition);
+            }
+        }
+
+        if (!detached.isEmpty()) {
+            log.info("Detached transaction partitions {}", detached);
+        }
+        return detached;
+    }
+}
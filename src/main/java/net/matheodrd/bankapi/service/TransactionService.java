@@ -2,27 +2,67 @@ package net.matheodrd.bankapi.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.RiskScoringProperties;
+import net.matheodrd.bankapi.config.TransactionBatchProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
 import net.matheodrd.bankapi.dto.request.CreateTransactionRequest;
+import net.matheodrd.bankapi.dto.response.BatchItemResult;
+import net.matheodrd.bankapi.dto.response.BatchTransactionResponse;
+import net.matheodrd.bankapi.dto.response.CursorPageResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
 import net.matheodrd.bankapi.exception.AccountSuspendedException;
 import net.matheodrd.bankapi.exception.EntityNotFoundException;
+import net.matheodrd.bankapi.exception.IdempotencyKeyReuseException;
 import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidIdempotencyKeyException;
 import net.matheodrd.bankapi.mapper.TransactionMapper;
 import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.Money;
+import net.matheodrd.bankapi.model.IdempotencyKey;
 import net.matheodrd.bankapi.model.Transaction;
 import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.BatchItemStatus;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
 import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.model.id.UuidOrder;
+import net.matheodrd.bankapi.pagination.RiskScoreCursor;
+import net.matheodrd.bankapi.pagination.TimestampCursor;
 import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.IdempotencyKeyRepository;
 import net.matheodrd.bankapi.repository.TransactionRepository;
+import net.matheodrd.bankapi.repository.specification.TransactionFilter;
+import net.matheodrd.bankapi.repository.specification.TransactionSpecifications;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -30,60 +70,200 @@ import java.util.UUID;
 @Slf4j
 public class TransactionService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    // Postgres default name of the idempotency_keys primary key (V5)
+    private static final String IDEMPOTENCY_KEY_CONSTRAINT = "idempotency_keys_pkey";
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final AccountStatsRepository accountStatsRepository;
+    private final AccountCache accountCache;
+    private final ReadConsistency readConsistency;
     private final RiskCalculationService riskCalculationService;
     private final TransactionMapper transactionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionBatchProperties batchProperties;
+    private final AccountLockStripes accountLocks;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RiskScoringProperties scoringProperties;
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionResponse create(CreateTransactionRequest request) {
+        return create(request, null);
+    }
+
+    // The account stripe is held until the database transaction has committed, so the next
+    // transaction on the same account sees this one's balance change and risk history.
+    // The balance is changed by a conditional UPDATE, not through the versioned entity, so there is no
+    // optimistic lock conflict to retry.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionResponse create(CreateTransactionRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return accountLocks.withLock(request.accountId(),
+                    () -> transactionTemplate.execute(txStatus -> createInTransaction(request)));
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        // Retries answered from memory do not touch the database
+        TransactionResponse cached = idempotencyCache.get(idempotencyKey);
+        if (cached != null) {
+            return replay(cached, request);
+        }
+
+        TransactionResponse response;
+        try {
+            response = accountLocks.withLock(request.accountId(),
+                    () -> transactionTemplate.execute(txStatus -> createIdempotent(request, idempotencyKey)));
+        } catch (DataIntegrityViolationException e) {
+            // Same key used concurrently for another account, any other violation is a bug and stays a 500
+            if (!isIdempotencyKeyConflict(e)) {
+                throw e;
+            }
+            throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+        }
+
+        // A PENDING snapshot would go stale once scored, so those retries are answered from the database
+        if (response.status() != TransactionStatus.PENDING) {
+            idempotencyCache.put(idempotencyKey, response);
+        }
+        return response;
+    }
+
+    private TransactionResponse createIdempotent(CreateTransactionRequest request, String idempotencyKey) {
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findById(idempotencyKey);
+        if (existing.isPresent()) {
+            TransactionResponse original = findById(existing.get().getTransactionId());
+            return replay(original, request);
+        }
+
+        TransactionResponse response = createInTransaction(request);
+        idempotencyKeyRepository.save(new IdempotencyKey(idempotencyKey, response.id()));
+        return response;
+    }
+
+    private static boolean isIdempotencyKeyConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return IDEMPOTENCY_KEY_CONSTRAINT.equals(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    private TransactionResponse replay(TransactionResponse original, CreateTransactionRequest request) {
+        boolean sameRequest = original.accountId().equals(request.accountId())
+                && original.type() == request.type()
+                && original.category() == request.category()
+                && original.amount().compareTo(request.amount()) == 0;
+
+        if (!sameRequest) {
+            throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+        }
+
+        log.debug("Replaying transaction {} for idempotent retry", original.id());
+        return original;
+    }
+
+    private TransactionResponse createInTransaction(CreateTransactionRequest request) {
         // Account validation
-        Account account = accountRepository.findById(request.accountId())
+        AccountSnapshot account = accountCache.getAccount(request.accountId(), () -> accountRepository.findById(request.accountId()))
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
 
-        if (account.getStatus() == AccountStatus.SUSPENDED) {
+        if (account.status() == AccountStatus.SUSPENDED) {
             throw new AccountSuspendedException("Account is suspended");
         }
 
-        // Balance validation for DEBIT
+        Money amount = Money.of(request.amount(), account.currency());
+
+        // Early rejection for DEBIT, the conditional update below is what actually prevents overdrafts
         if (request.type() == TransactionType.DEBIT) {
-            if (account.getBalance().compareTo(request.amount()) < 0) {
+            if (Money.of(account.availableBalance(), account.currency()).isLessThan(amount)) {
                 throw new InsufficientBalanceException("Insufficient balance");
             }
         }
 
-        // Calculate risk score
         LocalDateTime now = LocalDateTime.now();
-        int riskScore = riskCalculationService.calculateRiskScore(
-                request.accountId(),
-                request.amount(),
-                now
-        );
+        int riskScore;
+        TransactionStatus status;
 
-        TransactionStatus status = riskCalculationService.determineStatus(riskScore);
+        if (scoringProperties.async()) {
+            // Scored, and the balance changed, by RiskScoringPipeline after commit
+            riskScore = 0;
+            status = TransactionStatus.PENDING;
+        } else {
+            riskScore = riskCalculationService.calculateRiskScore(
+                    request.accountId(),
+                    amount.minorUnits(),
+                    now
+            );
+            status = riskCalculationService.determineStatus(riskScore);
+
+            // Update balance if COMPLETED
+            if (status == TransactionStatus.COMPLETED) {
+                applyBalanceChange(request.accountId(), amount, request.type());
+            }
+        }
+
+        // The conditional update checks the status in the same statement, the other outcomes rely on a fresh read
+        if (status != TransactionStatus.COMPLETED) {
+            requireNotSuspended(request.accountId());
+        }
 
         // Create transaction
         Transaction transaction = transactionMapper.toEntityWithCalculatedFields(
                 request,
-                account.getCurrency(),
+                account.currency(),
                 status,
                 riskScore,
                 now
         );
 
         Transaction saved = transactionRepository.save(transaction);
+        recordStats(request.accountId(), amount, request.type(), now);
+        accountCache.evict(request.accountId());
+        readConsistency.recordWrite(request.accountId());
+        eventPublisher.publishEvent(TransactionCreatedEvent.of(saved));
 
-        // Update balance if COMPLETED
-        if (status == TransactionStatus.COMPLETED) {
-            updateAccountBalance(account, request.amount(), request.type());
-        }
-
-        log.info("Transaction created: {} {} {} (risk: {})",
-                request.type(), request.amount(), account.getCurrency(), riskScore);
+        log.info("Transaction created: {} {} {} ({}, risk: {})",
+                request.type(), request.amount(), account.currency(), status, riskScore);
 
         return transactionMapper.toResponse(saved);
     }
 
+    // Each chunk runs in its own database transaction, so a failing chunk does not roll back earlier ones
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchTransactionResponse createBatch(List<CreateTransactionRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        int chunkSize = batchProperties.chunkSize();
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<CreateTransactionRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            Set<UUID> accountIds = chunk.stream()
+                    .map(CreateTransactionRequest::accountId)
+                    .collect(Collectors.toSet());
+            int offset = from;
+            LocalDateTime now = LocalDateTime.now();
+            // Scored before taking the stripes: a chunk of distinct accounts covers most of them,
+            // and every single create would otherwise wait for the whole chunk's risk queries
+            int[] riskScores = scoreChunk(chunk, now);
+            results.addAll(accountLocks.withLocks(accountIds, () -> transactionTemplate.execute(
+                    txStatus -> createChunk(chunk, offset, accountIds, riskScores, now))));
+        }
+
+        BatchTransactionResponse response = BatchTransactionResponse.from(results);
+        log.info("Transaction batch processed: {} created, {} flagged, {} rejected",
+                response.created(), response.flagged(), response.rejected());
+        return response;
+    }
+
     public Page<TransactionResponse> findAll(Pageable pageable) {
         return transactionRepository.findAll(pageable)
                 .map(transactionMapper::toResponse);
@@ -97,19 +277,33 @@ public class TransactionService {
             LocalDateTime toDate,
             Pageable pageable
     ) {
-        return transactionRepository.findByFilters(accountId, status, type, fromDate, toDate, pageable)
-                .map(transactionMapper::toResponse);
+        Specification<Transaction> specification = TransactionSpecifications.matching(
+                new TransactionFilter(accountId, status, type, fromDate, toDate)
+        );
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+
+        return forAccount(accountId, () -> transactionRepository.findAll(specification, newestFirst)
+                .map(transactionMapper::toResponse));
     }
 
+    // The account is only known once the row is read. A replica that does not have the row yet, or a row of an
+    // account written within the read-your-writes window, is read again from the primary.
+    // Not transactional, so that each read takes its own connection and can be routed on its own.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionResponse findById(UUID id) {
-        return transactionRepository.findById(id)
+        Optional<Transaction> transaction = transactionRepository.findById(id);
+        if (transaction.isEmpty() || readConsistency.recentlyWritten(transaction.get().getAccountId())) {
+            transaction = readConsistency.fromPrimary(() -> transactionRepository.findById(id));
+        }
+        return transaction
                 .map(transactionMapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
     }
 
     public Page<TransactionResponse> findByAccountId(UUID accountId, Pageable pageable) {
-        return transactionRepository.findByAccountIdOrderByTimestampDesc(accountId, pageable)
-                .map(transactionMapper::toResponse);
+        return readConsistency.forAccount(accountId, () ->
+                transactionRepository.findByAccountIdOrderByTimestampDesc(accountId, pageable)
+                        .map(transactionMapper::toResponse));
     }
 
     public Page<TransactionResponse> findFlagged(Pageable pageable) {
@@ -119,10 +313,233 @@ public class TransactionService {
         ).map(transactionMapper::toResponse);
     }
 
-    private void updateAccountBalance(Account account, BigDecimal amount, TransactionType type) {
-        BigDecimal newBalance = type == TransactionType.DEBIT
-                ? account.getBalance().subtract(amount)
-                : account.getBalance().add(amount);
-        account.setBalance(newBalance);
+    // Keyset pagination: one extra row is fetched to know whether another page follows
+    public CursorPageResponse<TransactionResponse> scrollByFilters(
+            UUID accountId,
+            TransactionStatus status,
+            TransactionType type,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String cursor,
+            int size,
+            boolean withTotal
+    ) {
+        int pageSize = scrollSize(size);
+        Specification<Transaction> matching = TransactionSpecifications.matching(
+                new TransactionFilter(accountId, status, type, fromDate, toDate)
+        );
+        Specification<Transaction> page = cursor != null
+                ? matching.and(TransactionSpecifications.after(TimestampCursor.decode(cursor)))
+                : matching;
+
+        return forAccount(accountId, () -> {
+            List<Transaction> rows = transactionRepository.findBy(page, query -> query
+                    .sortBy(NEWEST_FIRST)
+                    .limit(pageSize + 1)
+                    .all());
+
+            return toCursorPage(rows, pageSize, transaction -> TimestampCursor.of(transaction).encode(),
+                    withTotal ? () -> transactionRepository.count(matching) : null);
+        });
+    }
+
+    public CursorPageResponse<TransactionResponse> scrollByAccountId(UUID accountId, String cursor, int size, boolean withTotal) {
+        int pageSize = scrollSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        return readConsistency.forAccount(accountId, () -> {
+            List<Transaction> rows;
+            if (cursor == null) {
+                rows = transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, limit);
+            } else {
+                TimestampCursor position = TimestampCursor.decode(cursor);
+                rows = transactionRepository.findByAccountIdAfter(accountId, position.timestamp(), position.id(), limit);
+            }
+
+            return toCursorPage(rows, pageSize, transaction -> TimestampCursor.of(transaction).encode(),
+                    withTotal ? () -> transactionRepository.countByAccountId(accountId) : null);
+        });
+    }
+
+    public CursorPageResponse<TransactionResponse> scrollFlagged(String cursor, int size, boolean withTotal) {
+        int pageSize = scrollSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Transaction> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findByStatusOrderByRiskScoreDescIdDesc(TransactionStatus.FLAGGED, limit);
+        } else {
+            RiskScoreCursor position = RiskScoreCursor.decode(cursor);
+            rows = transactionRepository.findByStatusAfter(TransactionStatus.FLAGGED, position.riskScore(), position.id(), limit);
+        }
+
+        return toCursorPage(rows, pageSize, transaction -> RiskScoreCursor.of(transaction).encode(),
+                withTotal ? () -> transactionRepository.countByStatus(TransactionStatus.FLAGGED) : null);
+    }
+
+    // Account filters read from the primary right after a write to that account (see ReadConsistency)
+    private <T> T forAccount(UUID accountId, Supplier<T> read) {
+        return accountId != null ? readConsistency.forAccount(accountId, read) : read.get();
+    }
+
+    private int scrollSize(int size) {
+        return Math.clamp(size, 1, MAX_SCROLL_SIZE);
+    }
+
+    private CursorPageResponse<TransactionResponse> toCursorPage(
+            List<Transaction> rows,
+            int pageSize,
+            Function<Transaction, String> cursorOf,
+            LongSupplier total
+    ) {
+        boolean last = rows.size() <= pageSize;
+        List<Transaction> page = last ? rows : rows.subList(0, pageSize);
+        String nextCursor = last ? null : cursorOf.apply(page.getLast());
+
+        return new CursorPageResponse<>(
+                page.stream().map(transactionMapper::toResponse).toList(),
+                page.size(),
+                nextCursor,
+                last,
+                total != null ? total.getAsLong() : null
+        );
+    }
+
+    private int[] scoreChunk(List<CreateTransactionRequest> chunk, LocalDateTime now) {
+        int[] riskScores = new int[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            CreateTransactionRequest request = chunk.get(i);
+            riskScores[i] = riskCalculationService.calculateRiskScore(
+                    request.accountId(), Money.toMinorUnits(request.amount()), now);
+        }
+        return riskScores;
+    }
+
+    private List<BatchItemResult> createChunk(
+            List<CreateTransactionRequest> chunk,
+            int offset,
+            Set<UUID> accountIds,
+            int[] riskScores,
+            LocalDateTime now
+    ) {
+        Map<UUID, Account> accounts = new HashMap<>();
+        accountRepository.findAllByIdForUpdate(accountIds)
+                .forEach(account -> accounts.put(account.getId(), account));
+
+        BatchItemResult[] rejections = new BatchItemResult[chunk.size()];
+        Transaction[] transactions = new Transaction[chunk.size()];
+        List<Transaction> toSave = new ArrayList<>(chunk.size());
+
+        // Running balances of the chunk, written back to the locked entities once per account
+        Map<UUID, Money> balances = new HashMap<>();
+        Map<UUID, long[]> stats = new TreeMap<>(UuidOrder.DATABASE);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            CreateTransactionRequest request = chunk.get(i);
+            Account account = accounts.get(request.accountId());
+
+            if (account == null) {
+                rejections[i] = BatchItemResult.rejected(offset + i,
+                        BatchItemStatus.REJECTED_ACCOUNT_NOT_FOUND, "Account not found");
+                continue;
+            }
+            if (account.getStatus() == AccountStatus.SUSPENDED) {
+                rejections[i] = BatchItemResult.rejected(offset + i,
+                        BatchItemStatus.REJECTED_ACCOUNT_SUSPENDED, "Account is suspended");
+                continue;
+            }
+            Money amount = new Money(Money.toMinorUnits(request.amount()), account.getCurrency());
+            Money balance = balances.get(account.getId());
+            if (balance == null) {
+                balance = Money.of(account.getBalance(), account.getCurrency());
+            }
+            // Funds reserved by holds cannot be spent
+            Money held = Money.of(account.getHeldAmount(), account.getCurrency());
+            if (request.type() == TransactionType.DEBIT && balance.minus(held).isLessThan(amount)) {
+                rejections[i] = BatchItemResult.rejected(offset + i,
+                        BatchItemStatus.REJECTED_INSUFFICIENT_BALANCE, "Insufficient balance");
+                continue;
+            }
+
+            TransactionStatus status = riskCalculationService.determineStatus(riskScores[i]);
+            transactions[i] = transactionMapper.toEntityWithCalculatedFields(
+                    request,
+                    account.getCurrency(),
+                    status,
+                    riskScores[i],
+                    now
+            );
+            toSave.add(transactions[i]);
+            addStats(stats.computeIfAbsent(account.getId(), id -> new long[3]), amount, request.type());
+
+            if (status == TransactionStatus.COMPLETED) {
+                balances.put(account.getId(),
+                        request.type() == TransactionType.DEBIT ? balance.minus(amount) : balance.plus(amount));
+            }
+        }
+        balances.forEach((accountId, balance) -> accounts.get(accountId).setBalance(balance.toBigDecimal()));
+
+        // Inserts are sent as JDBC batches (see hibernate.jdbc.batch_size)
+        transactionRepository.saveAll(toSave);
+        // One upsert per account, in account id order like the row locks
+        stats.forEach((accountId, accountStats) -> accountStatsRepository.increment(accountId, accountStats[0],
+                BigDecimal.valueOf(accountStats[1], Money.SCALE), BigDecimal.valueOf(accountStats[2], Money.SCALE), now));
+        accountCache.evictAll(accountIds);
+        readConsistency.recordWrites(accountIds);
+        toSave.forEach(saved -> eventPublisher.publishEvent(TransactionCreatedEvent.of(saved)));
+
+        List<BatchItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejections[i] != null) {
+                results.add(rejections[i]);
+            } else {
+                BatchItemStatus status = transactions[i].getStatus() == TransactionStatus.FLAGGED
+                        ? BatchItemStatus.FLAGGED
+                        : BatchItemStatus.CREATED;
+                results.add(BatchItemResult.accepted(offset + i, status, transactionMapper.toResponse(transactions[i])));
+            }
+        }
+        return results;
+    }
+
+    private BigDecimal applyBalanceChange(UUID accountId, Money amount, TransactionType type) {
+        Optional<BigDecimal> newBalance = type == TransactionType.DEBIT
+                ? accountRepository.debit(accountId, amount.toBigDecimal())
+                : accountRepository.credit(accountId, amount.toBigDecimal());
+
+        return newBalance.orElseThrow(() -> balanceChangeRejected(accountId));
+    }
+
+    // Only reached when the conditional update matched no row
+    private RuntimeException balanceChangeRejected(UUID accountId) {
+        Optional<AccountStatus> status = accountRepository.findStatusById(accountId);
+        if (status.isEmpty()) {
+            return new EntityNotFoundException("Account not found");
+        }
+        if (status.get() == AccountStatus.SUSPENDED) {
+            return new AccountSuspendedException("Account is suspended");
+        }
+        return new InsufficientBalanceException("Insufficient balance");
+    }
+
+    private void requireNotSuspended(UUID accountId) {
+        AccountStatus status = accountRepository.findStatusById(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        if (status == AccountStatus.SUSPENDED) {
+            throw new AccountSuspendedException("Account is suspended");
+        }
+    }
+
+    private void recordStats(UUID accountId, Money amount, TransactionType type, LocalDateTime timestamp) {
+        BigDecimal debits = type == TransactionType.DEBIT ? amount.toBigDecimal() : BigDecimal.ZERO;
+        BigDecimal credits = type == TransactionType.CREDIT ? amount.toBigDecimal() : BigDecimal.ZERO;
+        accountStatsRepository.increment(accountId, 1, debits, credits, timestamp);
+    }
+
+    // {count, debits, credits}, amounts in minor units
+    private static void addStats(long[] accountStats, Money amount, TransactionType type) {
+        accountStats[0]++;
+        int index = type == TransactionType.DEBIT ? 1 : 2;
+        accountStats[index] = Math.addExact(accountStats[index], amount.minorUnits());
     }
 }
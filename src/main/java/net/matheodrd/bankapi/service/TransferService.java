@@ -0,0 +1,152 @@
+package net.matheodrd.bankapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.request.CreateTransferRequest;
+import net.matheodrd.bankapi.dto.response.TransferResponse;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
+import net.matheodrd.bankapi.exception.AccountSuspendedException;
+import net.matheodrd.bankapi.exception.EntityNotFoundException;
+import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidTransferException;
+import net.matheodrd.bankapi.mapper.TransactionMapper;
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.Money;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.model.id.UuidOrder;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// A transfer is a DEBIT on the source and a CREDIT on the destination, committed or rolled back together.
+// Both accounts are locked in id order, in memory (stripes) and in the database (SELECT ... FOR UPDATE ORDER BY id),
+// so transfers in opposite directions between the same accounts wait for each other instead of deadlocking.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountStatsRepository accountStatsRepository;
+    private final RiskCalculationService riskCalculationService;
+    private final TransactionMapper transactionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountLockStripes accountLocks;
+    private final AccountCache accountCache;
+    private final ReadConsistency readConsistency;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferResponse transfer(CreateTransferRequest request) {
+        if (request.fromAccountId().equals(request.toAccountId())) {
+            throw new InvalidTransferException("Source and destination accounts must be different");
+        }
+
+        List<UUID> accountIds = List.of(request.fromAccountId(), request.toAccountId());
+        // Both rows are read FOR UPDATE, so the versioned flush below cannot lose a race and is not retried
+        return accountLocks.withLocks(accountIds,
+                () -> transactionTemplate.execute(txStatus -> transferInTransaction(request, accountIds)));
+    }
+
+    private TransferResponse transferInTransaction(CreateTransferRequest request, List<UUID> accountIds) {
+        Map<UUID, Account> accounts = accountRepository.findAllByIdForUpdate(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        Account from = accounts.get(request.fromAccountId());
+        Account to = accounts.get(request.toAccountId());
+
+        if (from == null || to == null) {
+            throw new EntityNotFoundException("Account not found: "
+                    + (from == null ? request.fromAccountId() : request.toAccountId()));
+        }
+        if (from.getStatus() == AccountStatus.SUSPENDED || to.getStatus() == AccountStatus.SUSPENDED) {
+            throw new AccountSuspendedException("Account is suspended");
+        }
+        if (from.getCurrency() != to.getCurrency()) {
+            throw new InvalidTransferException("Accounts must use the same currency");
+        }
+
+        Money amount = Money.of(request.amount(), from.getCurrency());
+        Money fromBalance = Money.of(from.getBalance(), from.getCurrency());
+        if (Money.of(from.getAvailableBalance(), from.getCurrency()).isLessThan(amount)) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        // Transfers are always scored synchronously: both legs must share the outcome
+        LocalDateTime now = LocalDateTime.now();
+        int riskScore = riskCalculationService.calculateRiskScore(from.getId(), amount.minorUnits(), now);
+        TransactionStatus status = riskCalculationService.determineStatus(riskScore);
+
+        if (status == TransactionStatus.COMPLETED) {
+            // Both rows are locked, the updates are flushed with the inserts
+            from.setBalance(fromBalance.minus(amount).toBigDecimal());
+            to.setBalance(Money.of(to.getBalance(), to.getCurrency()).plus(amount).toBigDecimal());
+        }
+
+        Transaction debit = leg(from, TransactionType.DEBIT, amount, request.description(), status, riskScore, now);
+        Transaction credit = leg(to, TransactionType.CREDIT, amount, request.description(), status, riskScore, now);
+        List<Transaction> saved = transactionRepository.saveAll(List.of(debit, credit));
+
+        BigDecimal value = amount.toBigDecimal();
+        for (UUID accountId : accountIds.stream().sorted(UuidOrder.DATABASE).toList()) {
+            boolean isSource = accountId.equals(from.getId());
+            accountStatsRepository.increment(accountId, 1,
+                    isSource ? value : BigDecimal.ZERO,
+                    isSource ? BigDecimal.ZERO : value,
+                    now);
+        }
+        accountCache.evictAll(accountIds);
+        readConsistency.recordWrites(accountIds);
+        saved.forEach(transaction -> eventPublisher.publishEvent(TransactionCreatedEvent.of(transaction)));
+
+        log.info("Transfer of {} {} from {} to {} ({}, risk: {})",
+                request.amount(), from.getCurrency(), from.getAccountNumber(), to.getAccountNumber(), status, riskScore);
+
+        return new TransferResponse(
+                status,
+                transactionMapper.toResponse(saved.get(0)),
+                transactionMapper.toResponse(saved.get(1))
+        );
+    }
+
+    private static Transaction leg(
+            Account account,
+            TransactionType type,
+            Money amount,
+            String description,
+            TransactionStatus status,
+            int riskScore,
+            LocalDateTime timestamp
+    ) {
+        return Transaction.builder()
+                .accountId(account.getId())
+                .amount(amount.toBigDecimal())
+                .currency(account.getCurrency())
+                .type(type)
+                .category(TransactionCategory.TRANSFER)
+                .description(description)
+                .status(status)
+                .riskScore(riskScore)
+                .timestamp(timestamp)
+                .build();
+    }
+}
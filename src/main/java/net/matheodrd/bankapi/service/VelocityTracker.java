@@ -0,0 +1,184 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.matheodrd.bankapi.config.VelocityProperties;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
+import net.matheodrd.bankapi.event.TransactionScoredEvent;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import net.matheodrd.bankapi.repository.projection.VelocityBucketProjection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Per-account transaction counts over a sliding window of one-minute buckets, fed by committed transactions.
+// Accounts that are not in memory are loaded from the database on their first lookup.
+@Component
+@Slf4j
+public class VelocityTracker {
+
+    // Each bucket packs an epoch minute (high bits) with the number of transactions in that minute (low bits)
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final TransactionRepository transactionRepository;
+    private final VelocityProperties properties;
+    private final ConcurrentHashMap<UUID, Window> windows = new ConcurrentHashMap<>();
+    private final int historyMinutes;
+    private final Counter coldMisses;
+
+    public VelocityTracker(
+            TransactionRepository transactionRepository,
+            VelocityProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+        this.historyMinutes = (int) Math.max(1, properties.history().toMinutes());
+
+        Gauge.builder("bank.risk.velocity.accounts", windows, Map::size)
+                .description("Accounts with an in-memory velocity window")
+                .register(meterRegistry);
+        this.coldMisses = Counter.builder("bank.risk.velocity.cold.misses")
+                .description("Velocity lookups that had to load the account history from the database")
+                .register(meterRegistry);
+    }
+
+    // Transactions of the account between the two instants, at one-minute resolution
+    public int count(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        Window window = windows.get(accountId);
+        if (window == null) {
+            window = load(accountId);
+        }
+        return window.count(epochMinute(from), epochMinute(to));
+    }
+
+    // PENDING transactions are only counted once scored, like in the database history
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        if (event.status() != TransactionStatus.PENDING) {
+            record(event.accountId(), event.timestamp());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionScored(TransactionScoredEvent event) {
+        record(event.accountId(), event.timestamp());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.rebuildOnStartup()) {
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusMinutes(historyMinutes);
+        Map<UUID, Window> loaded = new HashMap<>();
+        for (VelocityBucketProjection bucket : transactionRepository.findVelocityBuckets(since)) {
+            loaded.computeIfAbsent(bucket.getAccountId(), id -> new Window(historyMinutes))
+                    .add(bucket.getEpochMinute(), bucket.getTransactionCount());
+        }
+
+        // Windows already loaded by a lookup during startup are kept
+        loaded.forEach(windows::putIfAbsent);
+        log.info("Velocity counters rebuilt for {} accounts", loaded.size());
+    }
+
+    @Scheduled(fixedDelayString = "${bank.risk.velocity.eviction-interval:PT5M}")
+    public void evictIdleWindows() {
+        long oldestMinute = epochMinute(LocalDateTime.now()) - historyMinutes;
+        windows.values().removeIf(window -> window.latestMinute() < oldestMinute);
+    }
+
+    private void record(UUID accountId, LocalDateTime timestamp) {
+        // Accounts without a window pick this transaction up from the database on their next lookup
+        Window window = windows.get(accountId);
+        if (window != null) {
+            window.add(epochMinute(timestamp), 1);
+        }
+    }
+
+    // Callers hold the account lock stripe, so no transaction of this account commits while it loads
+    private Window load(UUID accountId) {
+        coldMisses.increment();
+
+        Window window = new Window(historyMinutes);
+        List<VelocityBucketProjection> buckets = transactionRepository.findVelocityBucketsByAccountId(
+                accountId,
+                LocalDateTime.now().minusMinutes(historyMinutes)
+        );
+        for (VelocityBucketProjection bucket : buckets) {
+            window.add(bucket.getEpochMinute(), bucket.getTransactionCount());
+        }
+
+        Window existing = windows.putIfAbsent(accountId, window);
+        return existing != null ? existing : window;
+    }
+
+    private static long epochMinute(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static final class Window {
+
+        private final AtomicLongArray buckets;
+
+        Window(int minutes) {
+            // One extra bucket so that a full window covers both of its boundary minutes
+            this.buckets = new AtomicLongArray(minutes + 1);
+        }
+
+        void add(long minute, long count) {
+            int index = Math.floorMod(minute, buckets.length());
+            while (true) {
+                long current = buckets.get(index);
+                long currentMinute = current >>> COUNT_BITS;
+                if (currentMinute > minute) {
+                    // The bucket has already been reused for a more recent minute
+                    return;
+                }
+
+                long base = currentMinute == minute ? current & COUNT_MASK : 0;
+                long next = (minute << COUNT_BITS) | Math.min(COUNT_MASK, base + count);
+                if (buckets.compareAndSet(index, current, next)) {
+                    return;
+                }
+            }
+        }
+
+        int count(long fromMinute, long toMinute) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                long bucket = buckets.get(i);
+                long minute = bucket >>> COUNT_BITS;
+                if (minute >= fromMinute && minute <= toMinute) {
+                    total += bucket & COUNT_MASK;
+                }
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }
+
+        long latestMinute() {
+            long latest = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                latest = Math.max(latest, buckets.get(i) >>> COUNT_BITS);
+            }
+            return latest;
+        }
+    }
+}
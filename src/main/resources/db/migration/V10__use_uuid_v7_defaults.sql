@@ -0,0 +1,24 @@
+-- Time-ordered UUIDv7 (RFC 9562) for rows inserted outside the application.
+-- The application generates its own ids (see UuidV7), which are also monotonic within a millisecond.
+-- Built from gen_random_uuid(): the first 48 bits are replaced with the Unix time in milliseconds and the
+-- version nibble is changed from 4 to 7 by setting bits 52 and 53.
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+    RETURNS UUID
+AS
+$$
+SELECT encode(
+               set_bit(
+                       set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                                       FROM 1 FOR 6),
+                               52, 1),
+                       53, 1),
+               'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE accounts
+    ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+ALTER TABLE transactions
+    ALTER COLUMN id SET DEFAULT uuid_generate_v7();
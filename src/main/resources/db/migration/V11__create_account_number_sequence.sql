@@ -0,0 +1,5 @@
+-- Account numbers are allocated by blocks of 100 (hi/lo): one nextval per block, see AccountNumberGenerator.
+-- The increment must match AccountNumberGenerator.BLOCK_SIZE.
+CREATE SEQUENCE account_number_seq
+    START WITH 1
+    INCREMENT BY 100;
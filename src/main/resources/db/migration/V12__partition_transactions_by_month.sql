@@ -0,0 +1,109 @@
+-- Range partitioning of transactions by month of timestamp.
+-- The primary key has to include the partition key, id stays unique in practice as it is a UUIDv7.
+-- Rows are copied in this migration, which takes an exclusive lock on transactions for its whole duration.
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER INDEX transactions_pkey RENAME TO transactions_unpartitioned_pkey;
+
+CREATE TABLE transactions
+(
+    id          UUID           NOT NULL DEFAULT uuid_generate_v7(),
+    account_id  UUID           NOT NULL,
+    amount      DECIMAL(19, 4) NOT NULL,
+    currency    VARCHAR(3)     NOT NULL,
+    type        VARCHAR(10)    NOT NULL,
+    category    VARCHAR(20)    NOT NULL,
+    description VARCHAR(500),
+    status      VARCHAR(20)    NOT NULL,
+    risk_score  INTEGER        NOT NULL,
+    timestamp   TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT transactions_pkey
+        PRIMARY KEY (id, timestamp),
+
+    CONSTRAINT fk_transactions_account
+        FOREIGN KEY (account_id)
+            REFERENCES accounts (id)
+            ON DELETE CASCADE
+) PARTITION BY RANGE (timestamp);
+
+COMMENT ON TABLE transactions IS 'Bank account transactions, partitioned by month of timestamp';
+COMMENT ON COLUMN transactions.account_id IS 'Reference to the owning account';
+COMMENT ON COLUMN transactions.amount IS 'Transaction amount with 4 decimal places';
+COMMENT ON COLUMN transactions.type IS 'DEBIT or CREDIT';
+COMMENT ON COLUMN transactions.category IS 'Category (e.g. TRANSFER, DEPOSIT, etc.)';
+COMMENT ON COLUMN transactions.risk_score IS 'Risk score calculated by the application (0–100)';
+
+-- Catches rows outside of the created months, moved out by create_transactions_partition
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Creates the partition of the month containing month_start (transactions_yYYYYmMM) if it does not exist yet,
+-- moving the rows of that month out of the default partition. Returns the partition name, or NULL if it existed.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start DATE)
+    RETURNS TEXT
+AS
+$$
+DECLARE
+    range_start    TIMESTAMP := date_trunc('month', month_start);
+    range_end      TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT      := 'transactions_' || to_char(month_start, '"y"YYYY"m"MM');
+BEGIN
+    -- Serializes concurrent maintenance runs of several instances
+    PERFORM pg_advisory_xact_lock(hashtext('create_transactions_partition'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (timestamp >= %L AND timestamp < %L)',
+                   partition_name, partition_name || '_range', range_start, range_end);
+
+    EXECUTE format('INSERT INTO %I SELECT * FROM transactions_default WHERE timestamp >= $1 AND timestamp < $2',
+                   partition_name) USING range_start, range_end;
+    DELETE FROM transactions_default WHERE timestamp >= range_start AND timestamp < range_end;
+
+    -- The CHECK constraint lets ATTACH skip its validation scan, the partitioned indexes are built here
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_range');
+
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Every month of the existing history, and the next three months
+SELECT create_transactions_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', LEAST((SELECT MIN(timestamp) FROM transactions_unpartitioned), CURRENT_TIMESTAMP)),
+             date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months',
+             INTERVAL '1 month'
+     ) month;
+
+INSERT INTO transactions (id, account_id, amount, currency, type, category, description, status, risk_score, timestamp)
+SELECT id, account_id, amount, currency, type, category, description, status, risk_score, timestamp
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Same secondary indexes as before (V3, V6, V7, V8), now partitioned: one index per partition
+CREATE INDEX idx_transactions_risk_score
+    ON transactions (risk_score DESC);
+
+CREATE INDEX idx_transactions_pending_timestamp
+    ON transactions (timestamp) WHERE status = 'PENDING';
+
+CREATE INDEX idx_transactions_timestamp_id
+    ON transactions (timestamp DESC, id DESC);
+
+CREATE INDEX idx_transactions_account_timestamp_id
+    ON transactions (account_id, timestamp DESC, id DESC);
+
+CREATE INDEX idx_transactions_flagged_risk_score_id
+    ON transactions (risk_score DESC, id DESC) WHERE status = 'FLAGGED';
+
+CREATE INDEX idx_transactions_status_timestamp_id
+    ON transactions (status, timestamp DESC, id DESC);
+
+CREATE INDEX idx_transactions_account_type_timestamp_id
+    ON transactions (account_id, type, timestamp DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Optimistic locking on accounts (Account.version). The atomic balance updates in AccountRepository bump it too,
+-- so an entity loaded before a debit or credit cannot be flushed over it.
+ALTER TABLE accounts
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,32 @@
+-- Authorization holds: funds reserved on an account until captured, released or expired (see HoldService)
+ALTER TABLE accounts
+    ADD COLUMN held_amount DECIMAL(19, 4) NOT NULL DEFAULT 0 CHECK (held_amount >= 0);
+
+COMMENT ON COLUMN accounts.held_amount IS 'Sum of the active holds, available balance = balance - held_amount';
+
+CREATE TABLE holds
+(
+    id             UUID PRIMARY KEY        DEFAULT uuid_generate_v7(),
+    account_id     UUID           NOT NULL REFERENCES accounts (id),
+    amount         DECIMAL(19, 4) NOT NULL CHECK (amount > 0),
+    currency       VARCHAR(3)     NOT NULL,
+    description    VARCHAR(500),
+    status         VARCHAR(20)    NOT NULL,
+    expires_at     TIMESTAMP      NOT NULL,
+    created_at     TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    resolved_at    TIMESTAMP,
+    transaction_id UUID
+);
+
+CREATE INDEX idx_holds_account_id
+    ON holds (account_id);
+
+-- Drives the expiry sweeper: only open holds are indexed, so each sweep reads the due entries in expiry order
+-- and the index does not grow with the history of resolved holds
+CREATE INDEX idx_holds_active_expires_at
+    ON holds (expires_at, id)
+    WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE holds IS 'Funds reserved on an account before being captured or released';
+COMMENT ON COLUMN holds.status IS 'ACTIVE, CAPTURED, RELEASED or EXPIRED';
+COMMENT ON COLUMN holds.transaction_id IS 'DEBIT transaction created by the capture';
@@ -0,0 +1,35 @@
+-- create_transactions_partition (V12) copied the rows of the month out of the default partition, then deleted them.
+-- Under READ COMMITTED both statements take their own snapshot: a row committed in between was deleted without
+-- being copied. Rows are now moved by one statement, DELETE ... RETURNING feeding the INSERT.
+-- A row inserted into the default partition after the move makes the ATTACH fail instead of being lost.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start DATE)
+    RETURNS TEXT
+AS
+$$
+DECLARE
+    range_start    TIMESTAMP := date_trunc('month', month_start);
+    range_end      TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT      := 'transactions_' || to_char(month_start, '"y"YYYY"m"MM');
+BEGIN
+    -- Serializes concurrent maintenance runs of several instances
+    PERFORM pg_advisory_xact_lock(hashtext('create_transactions_partition'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (timestamp >= %L AND timestamp < %L)',
+                   partition_name, partition_name || '_range', range_start, range_end);
+
+    EXECUTE format('WITH moved AS (DELETE FROM transactions_default WHERE timestamp >= $1 AND timestamp < $2 RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved', partition_name) USING range_start, range_end;
+
+    -- The CHECK constraint lets ATTACH skip its validation scan, the partitioned indexes are built here
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_range');
+
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,14 @@
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    transaction_id  UUID      NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index on created_at for purging expired keys
+CREATE INDEX idx_idempotency_keys_created_at
+    ON idempotency_keys (created_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Idempotency keys of created transactions, used to answer client retries';
+COMMENT ON COLUMN idempotency_keys.idempotency_key IS 'Value of the Idempotency-Key request header';
+COMMENT ON COLUMN idempotency_keys.transaction_id IS 'Transaction created by the first request with this key';
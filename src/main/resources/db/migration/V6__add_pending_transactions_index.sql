@@ -0,0 +1,2 @@
+-- Used by the async risk scoring recovery sweep
+CREATE INDEX idx_transactions_pending_timestamp ON transactions (timestamp) WHERE status = 'PENDING';
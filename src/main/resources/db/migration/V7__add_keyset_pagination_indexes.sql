@@ -0,0 +1,19 @@
+-- Keyset pagination: every listing is ordered by its sort key then by id, so pages resume exactly where the
+-- previous one stopped whatever the depth
+
+-- Global chronological listing
+CREATE INDEX idx_transactions_timestamp_id
+    ON transactions(timestamp DESC, id DESC);
+
+-- Transactions of an account
+CREATE INDEX idx_transactions_account_timestamp_id
+    ON transactions(account_id, timestamp DESC, id DESC);
+
+-- Flagged transactions by descending risk
+CREATE INDEX idx_transactions_flagged_risk_score_id
+    ON transactions(risk_score DESC, id DESC)
+    WHERE status = 'FLAGGED';
+
+-- Superseded by the indexes above
+DROP INDEX IF EXISTS idx_transactions_timestamp;
+DROP INDEX IF EXISTS idx_transactions_flagged;
@@ -0,0 +1,14 @@
+-- Composite indexes for the common filter combinations of GET /api/v1/transactions.
+-- account + timestamp is served by idx_transactions_account_timestamp_id (V7).
+
+-- Status + timestamp (e.g. all FLAGGED transactions of the last day)
+CREATE INDEX idx_transactions_status_timestamp_id
+    ON transactions(status, timestamp DESC, id DESC);
+
+-- Account + type + timestamp (e.g. debits of an account over a period)
+CREATE INDEX idx_transactions_account_type_timestamp_id
+    ON transactions(account_id, type, timestamp DESC, id DESC);
+
+-- Leading columns of the composite indexes above
+DROP INDEX IF EXISTS idx_transactions_account_id;
+DROP INDEX IF EXISTS idx_transactions_status;
@@ -0,0 +1,27 @@
+CREATE TABLE account_stats
+(
+    account_id          UUID PRIMARY KEY,
+    transaction_count   BIGINT         NOT NULL DEFAULT 0,
+    total_debits        DECIMAL(19, 4) NOT NULL DEFAULT 0.0,
+    total_credits       DECIMAL(19, 4) NOT NULL DEFAULT 0.0,
+    last_transaction_at TIMESTAMP,
+
+    CONSTRAINT fk_account_stats_account
+        FOREIGN KEY (account_id)
+            REFERENCES accounts (id)
+            ON DELETE CASCADE
+);
+
+COMMENT ON TABLE account_stats IS 'Per-account transaction aggregates, maintained by the application on every insert';
+COMMENT ON COLUMN account_stats.transaction_count IS 'Number of transactions of the account, whatever their status';
+COMMENT ON COLUMN account_stats.last_transaction_at IS 'Timestamp of the most recent transaction';
+
+-- Backfill from existing history
+INSERT INTO account_stats (account_id, transaction_count, total_debits, total_credits, last_transaction_at)
+SELECT account_id,
+       COUNT(*),
+       COALESCE(SUM(CASE WHEN type = 'DEBIT' THEN amount END), 0.0),
+       COALESCE(SUM(CASE WHEN type = 'CREDIT' THEN amount END), 0.0),
+       MAX(timestamp)
+FROM transactions
+GROUP BY account_id;
@@ -0,0 +1,142 @@
+package net.matheodrd.bankapi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Transaction creation under load with platform and virtual request threads, against the same database.
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Virtual thread load benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int ACCOUNTS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final int IN_FLIGHT = 1_000;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    @DisplayName("Compare throughput and p99 latency of transaction creation with virtual threads off and on")
+    void compareThreadingModes() throws Exception {
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                List<String> accountIds = createAccounts(port);
+                run(port, accountIds, REQUESTS / 10);
+                System.out.printf("virtual threads %-5s %s%n", virtual, run(port, accountIds, REQUESTS));
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        // Command line arguments take precedence over the profile configuration
+        return new SpringApplicationBuilder(BankApiApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--logging.level.net.matheodrd=WARN"
+        );
+    }
+
+    private List<String> createAccounts(int port) throws Exception {
+        List<String> ids = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            HttpResponse<String> response = client.send(post(port, "/api/v1/accounts", """
+                    {"accountHolder": "Benchmark %d", "initialBalance": 1000000000, "currency": "GBP"}
+                    """.formatted(i)), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ID.matcher(response.body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Account creation failed: " + response.body());
+            }
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private Result run(int port, List<String> accountIds, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int index = i;
+                executor.submit(() -> {
+                    HttpRequest request = post(port, "/api/v1/transactions", """
+                            {"accountId": "%s", "amount": 1.00, "type": "CREDIT", "category": "DEPOSIT"}
+                            """.formatted(accountIds.get(index % accountIds.size())));
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(
+                requests * 1_000_000_000L / elapsed,
+                Duration.ofNanos(latencies[requests / 2]).toMillis(),
+                Duration.ofNanos(latencies[(int) (requests * 0.99)]).toMillis(),
+                errors.get()
+        );
+    }
+
+    private HttpRequest post(int port, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Result(long requestsPerSecond, long p50Millis, long p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return "%,d req/s, p50 %d ms, p99 %d ms, %d errors".formatted(requestsPerSecond, p50Millis, p99Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.matheodrd.bankapi.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Should refuse requests above the limit until a slot is released")
+    void shouldRefuseAboveLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, Duration.ofMillis(100), 0.9);
+
+        // When/Then
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit on slow or failed requests, down to the minimum")
+    void shouldShrinkOnSlowOrFailedRequests() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 20, Duration.ofMillis(100), 0.5);
+
+        // When
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(5);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit on fast requests only while it is used, up to the maximum")
+    void shouldGrowOnlyUnderLoad() {
+        // Given
+        AdaptiveConcurrencyLimit idle = new AdaptiveConcurrencyLimit(10, 1, 20, Duration.ofMillis(100), 0.9);
+        AdaptiveConcurrencyLimit busy = new AdaptiveConcurrencyLimit(2, 1, 4, Duration.ofMillis(100), 0.9);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            idle.tryAcquire();
+            idle.release(FAST, false);
+
+            while (busy.tryAcquire()) {
+                // fill every slot
+            }
+            while (busy.inFlight() > 0) {
+                busy.release(FAST, false);
+            }
+        }
+
+        // Then
+        assertThat(idle.limit()).isEqualTo(10);
+        assertThat(busy.limit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(30, 1, 20, Duration.ofMillis(100), 0.9))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 1, 20, Duration.ofMillis(100), 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package net.matheodrd.bankapi.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.matheodrd.bankapi.config.AdmissionControlProperties;
+import net.matheodrd.bankapi.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdmissionControlFilter Tests")
+class AdmissionControlFilterTest {
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlProperties properties = new AdmissionControlProperties(
+                true,
+                0.9,
+                new AdmissionControlProperties.Writes(1, 1, 1, Duration.ofMillis(250)),
+                new AdmissionControlProperties.Reads(1, 1, 1, Duration.ofMillis(150)),
+                new AdmissionControlProperties.Bulk(1, List.of("/api/v1/transactions/import"))
+        );
+        filter = new AdmissionControlFilter(properties, exceptionResolver, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should shed a write above the limit while reads are still admitted")
+    void shouldShedWritesAboveLimitButAdmitReads() throws Exception {
+        // Given
+        MockHttpServletResponse shedWrite = new MockHttpServletResponse();
+        AtomicReference<Boolean> readAdmitted = new AtomicReference<>(false);
+
+        // The first write holds the only write slot while the other requests come in
+        FilterChain holdingChain = (request, response) -> {
+            filter.doFilter(post(), shedWrite, new MockFilterChain());
+            filter.doFilter(get(), new MockHttpServletResponse(), (req, res) -> readAdmitted.set(true));
+        };
+
+        // When
+        filter.doFilter(post(), new MockHttpServletResponse(), holdingChain);
+
+        // Then
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(ServiceOverloadedException.class));
+        assertThat(readAdmitted.get()).isTrue();
+        assertThat(meterRegistry.get("bank.admission.rejected").tag("pool", "writes").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bank.admission.rejected").tag("pool", "reads").counter().count()).isZero();
+        assertThat(meterRegistry.get("bank.admission.inflight").tag("pool", "writes").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the slot once the request completes")
+    void shouldReleaseSlotAfterRequest() throws Exception {
+        // When
+        filter.doFilter(post(), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(post(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should run bulk requests in their own pool without taking a write slot")
+    void shouldAdmitBulkRequestsInSeparatePool() throws Exception {
+        // Given
+        AtomicReference<Boolean> writeAdmitted = new AtomicReference<>(false);
+
+        // The import holds the only bulk slot while a write and a second import come in
+        FilterChain holdingChain = (request, response) -> {
+            filter.doFilter(post(), new MockHttpServletResponse(), (req, res) -> writeAdmitted.set(true));
+            filter.doFilter(bulkImport(), new MockHttpServletResponse(), new MockFilterChain());
+        };
+
+        // When
+        filter.doFilter(bulkImport(), new MockHttpServletResponse(), holdingChain);
+
+        // Then
+        assertThat(writeAdmitted.get()).isTrue();
+        assertThat(meterRegistry.get("bank.admission.rejected").tag("pool", "bulk").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bank.admission.rejected").tag("pool", "writes").counter().count()).isZero();
+        assertThat(meterRegistry.get("bank.admission.inflight").tag("pool", "bulk").gauge().value()).isZero();
+    }
+
+    private static MockHttpServletRequest bulkImport() {
+        return new MockHttpServletRequest("POST", "/api/v1/transactions/import");
+    }
+
+    private static MockHttpServletRequest post() {
+        return new MockHttpServletRequest("POST", "/api/v1/transactions");
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/accounts");
+    }
+}
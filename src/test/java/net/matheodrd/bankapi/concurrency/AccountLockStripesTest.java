@@ -0,0 +1,128 @@
+package net.matheodrd.bankapi.concurrency;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccountLockStripes Tests")
+class AccountLockStripesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountLockStripes accountLocks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountLocks = new AccountLockStripes(new AccountLockProperties(10, true), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should round the stripe count up to a power of two")
+    void shouldRoundStripeCountToPowerOfTwo() {
+        assertThat(accountLocks.stripeCount()).isEqualTo(16);
+        assertThat(meterRegistry.find("bank.account.lock.acquisitions").meters()).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("Should never run two operations on the same account at the same time")
+    void shouldSerializeOperationsOnSameAccount() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> accountLocks.withLock(accountId, () -> {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    return inside.decrementAndGet();
+                }));
+            }
+        }
+
+        // Then
+        assertThat(maxInside.get()).isEqualTo(1);
+        int stripe = accountLocks.stripeOf(accountId);
+        FunctionTimer contended = meterRegistry.get("bank.account.lock.contended")
+                .tag("stripe", Integer.toString(stripe))
+                .functionTimer();
+        assertThat(meterRegistry.get("bank.account.lock.acquisitions")
+                .tag("stripe", Integer.toString(stripe))
+                .functionCounter()
+                .count()).isEqualTo(200);
+        assertThat(contended.count()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should let accounts on different stripes proceed in parallel")
+    void shouldRunDifferentStripesInParallel() throws Exception {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        while (accountLocks.stripeOf(second) == accountLocks.stripeOf(first)) {
+            second = UUID.randomUUID();
+        }
+        UUID otherAccount = second;
+        CountDownLatch firstInside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Boolean> holder = executor.submit(() -> accountLocks.withLock(first, () -> {
+                firstInside.countDown();
+                return await(release);
+            }));
+            assertThat(firstInside.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Boolean> other = executor.submit(() -> accountLocks.withLock(otherAccount, () -> true));
+
+            // Then
+            assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release every stripe taken for a multi-account operation")
+    void shouldReleaseAllStripesForMultiAccountOperation() throws Exception {
+        // Given
+        List<UUID> accountIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        // When
+        accountLocks.withLocks(accountIds, () -> null);
+
+        // Then - another thread can take every stripe
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            for (UUID accountId : accountIds) {
+                Future<Boolean> acquired = executor.submit(() -> accountLocks.withLock(accountId, () -> true));
+                assertThat(acquired.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
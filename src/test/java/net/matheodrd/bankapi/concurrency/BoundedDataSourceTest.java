@@ -0,0 +1,64 @@
+package net.matheodrd.bankapi.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BoundedDataSource Tests")
+class BoundedDataSourceTest {
+
+    private DataSource target;
+    private BoundedDataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new BoundedDataSource(target, "primary", 1, Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time out when all permits are held and admit again once a connection is closed")
+    void shouldBoundConcurrentConnections() throws SQLException {
+        // Given
+        Connection first = dataSource.getConnection();
+        assertThat(meterRegistry.get("bank.datasource.limiter.active").gauge().value()).isEqualTo(1.0);
+
+        // When / Then
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+        assertThat(second).isNotNull();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the pool fails to provide a connection")
+    void shouldReleasePermitOnPoolFailure() throws SQLException {
+        // Given
+        when(target.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool exhausted"))
+                .thenAnswer(invocation -> mock(Connection.class));
+
+        // When / Then
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
@@ -0,0 +1,42 @@
+package net.matheodrd.bankapi.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.DataSourceLimiterProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DataSourceLimiter Tests")
+class DataSourceLimiterTest {
+
+    @Test
+    @DisplayName("Should bind the limiter metrics of every pool, including pools created after binding")
+    void shouldBindMetricsOfEveryPool() throws Exception {
+        // Given
+        DataSourceLimiter limiter = new DataSourceLimiter(new DataSourceLimiterProperties(0, Duration.ofSeconds(1)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        BoundedDataSource primary = limiter.limit("primary", pool("primary"));
+        limiter.bindTo(meterRegistry);
+        BoundedDataSource replica = limiter.limit("replica-0", pool("replica-0"));
+
+        // Then
+        assertThat(meterRegistry.get("bank.datasource.limiter.active").tag("pool", "primary").gauge().value()).isZero();
+        assertThat(meterRegistry.get("bank.datasource.limiter.active").tag("pool", "replica-0").gauge().value()).isZero();
+        assertThat(replica.unwrap(HikariDataSource.class).getPoolName()).isEqualTo("replica-0");
+        assertThat(primary.unwrap(HikariDataSource.class).getPoolName()).isEqualTo("primary");
+    }
+
+    // Not started: a Hikari pool only connects on the first getConnection()
+    private static HikariDataSource pool(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
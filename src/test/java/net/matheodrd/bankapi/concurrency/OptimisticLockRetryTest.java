@@ -0,0 +1,115 @@
+package net.matheodrd.bankapi.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.OptimisticRetryProperties;
+import net.matheodrd.bankapi.exception.ConcurrentUpdateException;
+import net.matheodrd.bankapi.model.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticLockRetry Tests")
+class OptimisticLockRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should re-run the action until it stops conflicting")
+    void shouldRetryUntilSuccess() {
+        // Given
+        OptimisticLockRetry retry = retry(4, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = retry.execute("test", accountId, conflicting(calls, 2));
+
+        // Then
+        assertThat(result).isEqualTo("done");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("bank.optimistic.conflicts").tag("operation", "test").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("bank.optimistic.retries").tag("operation", "test").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should give up with a ConcurrentUpdateException after max attempts")
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        OptimisticLockRetry retry = retry(3, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When / Then
+        assertThatThrownBy(() -> retry.execute("test", accountId, conflicting(calls, Integer.MAX_VALUE)))
+                .isInstanceOf(ConcurrentUpdateException.class)
+                .hasCauseInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(retry.hotAccounts(10)).singleElement().satisfies(hot -> {
+            assertThat(hot.accountId()).isEqualTo(accountId);
+            assertThat(hot.conflicts()).isEqualTo(3);
+            assertThat(hot.exhausted()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    void shouldStopRetryingWhenBudgetIsSpent() {
+        // Given
+        OptimisticLockRetry retry = retry(10, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When / Then
+        assertThatThrownBy(() -> retry.execute("test", accountId, conflicting(calls, Integer.MAX_VALUE)))
+                .isInstanceOf(ConcurrentUpdateException.class);
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("bank.optimistic.retry.budget").gauge().value()).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rank hot accounts by number of conflicts")
+    void shouldRankHotAccounts() {
+        // Given
+        OptimisticLockRetry retry = retry(4, 100);
+        UUID quiet = UUID.randomUUID();
+
+        // When
+        retry.execute("test", quiet, conflicting(new AtomicInteger(), 1));
+        retry.execute("test", accountId, conflicting(new AtomicInteger(), 3));
+
+        // Then
+        assertThat(retry.hotAccounts(10))
+                .extracting(OptimisticLockRetry.HotAccount::accountId)
+                .containsExactly(accountId, quiet);
+        assertThat(retry.hotAccounts(1)).hasSize(1);
+    }
+
+    private OptimisticLockRetry retry(int maxAttempts, int budgetCapacity) {
+        return new OptimisticLockRetry(
+                new OptimisticRetryProperties(maxAttempts, Duration.ZERO, Duration.ZERO, 0.0, budgetCapacity, 100),
+                meterRegistry
+        );
+    }
+
+    private Supplier<String> conflicting(AtomicInteger calls, int conflicts) {
+        return () -> {
+            if (calls.incrementAndGet() <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, accountId);
+            }
+            return "done";
+        };
+    }
+}
@@ -5,12 +5,15 @@ import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
 import net.matheodrd.bankapi.dto.request.UpdateAccountStatusRequest;
 import net.matheodrd.bankapi.dto.response.AccountDetailResponse;
 import net.matheodrd.bankapi.dto.response.AccountResponse;
+import net.matheodrd.bankapi.dto.response.CursorPageResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.export.ExportFormat;
 import net.matheodrd.bankapi.model.enums.AccountStatus;
 import net.matheodrd.bankapi.model.enums.Currency;
 import net.matheodrd.bankapi.model.enums.TransactionCategory;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
 import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.service.AccountOnboardingService;
 import net.matheodrd.bankapi.service.AccountService;
 import net.matheodrd.bankapi.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,8 +28,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -34,6 +41,7 @@ import java.util.UUID;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +62,9 @@ class AccountControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private AccountOnboardingService accountOnboardingService;
+
     private AccountResponse accountResponse;
     private AccountDetailResponse accountDetailResponse;
     private UUID accountId;
@@ -67,6 +78,7 @@ class AccountControllerTest {
                 "GB29NWBK60161331926819",
                 "John Doe",
                 new BigDecimal("1000.00"),
+                new BigDecimal("1000.00"),
                 Currency.GBP,
                 AccountStatus.ACTIVE
         );
@@ -76,13 +88,15 @@ class AccountControllerTest {
                 "GB29NWBK60161331926819",
                 "John Doe",
                 new BigDecimal("1000.00"),
+                new BigDecimal("1000.00"),
                 Currency.GBP,
                 AccountStatus.ACTIVE,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
                 5L,
                 new BigDecimal("500.00"),
-                new BigDecimal("0.00")
+                new BigDecimal("0.00"),
+                LocalDateTime.now()
         );
     }
 
@@ -156,6 +170,7 @@ class AccountControllerTest {
                 "FR1420041010050500013M02606",
                 "Jane Doe",
                 new BigDecimal("2000.00"),
+                new BigDecimal("2000.00"),
                 Currency.EUR,
                 AccountStatus.ACTIVE
         );
@@ -204,6 +219,7 @@ class AccountControllerTest {
                 accountResponse.accountNumber(),
                 accountResponse.accountHolder(),
                 accountResponse.balance(),
+                accountResponse.availableBalance(),
                 accountResponse.currency(),
                 AccountStatus.SUSPENDED
         );
@@ -271,4 +287,62 @@ class AccountControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(0)));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/accounts/{id}/transactions/scroll - Should return a cursor page")
+    void shouldScrollAccountTransactions() throws Exception {
+        // Given
+        TransactionResponse transaction = new TransactionResponse(
+                UUID.randomUUID(),
+                accountId,
+                new BigDecimal("100.00"),
+                Currency.GBP,
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Test payment",
+                TransactionStatus.COMPLETED,
+                0,
+                LocalDateTime.now()
+        );
+
+        when(transactionService.scrollByAccountId(accountId, "abc", 1, false))
+                .thenReturn(new CursorPageResponse<>(List.of(transaction), 1, "next", false, null));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions/scroll", accountId)
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/accounts/import - Should stream the onboarding results")
+    void shouldStreamOnboardingResults() throws Exception {
+        // Given
+        String csv = "reference,accountHolder,initialBalance,currency\r\nP-1,Jane Doe,0,GBP\r\n";
+        doAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8);
+            invocation.<OutputStream>getArgument(2).write(("line,reference\r\n" + body.lines().count()).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(accountOnboardingService).onboard(eq(ExportFormat.CSV), any(InputStream.class), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/import")
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"accounts.csv\""))
+                .andExpect(content().string("line,reference\r\n2"));
+    }
 }
@@ -1,12 +1,23 @@
 package net.matheodrd.bankapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import net.matheodrd.bankapi.dto.request.CreateTransactionBatchRequest;
 import net.matheodrd.bankapi.dto.request.CreateTransactionRequest;
+import net.matheodrd.bankapi.dto.response.BatchItemResult;
+import net.matheodrd.bankapi.dto.response.BatchTransactionResponse;
+import net.matheodrd.bankapi.dto.response.TransactionImportResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.exception.RateLimitExceededException;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.model.enums.BatchItemStatus;
 import net.matheodrd.bankapi.model.enums.Currency;
 import net.matheodrd.bankapi.model.enums.TransactionCategory;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
 import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.ratelimit.TransactionRateLimiter;
+import net.matheodrd.bankapi.service.TransactionExportService;
+import net.matheodrd.bankapi.service.TransactionImportService;
 import net.matheodrd.bankapi.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,16 +31,29 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +71,15 @@ class TransactionControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private TransactionExportService transactionExportService;
+
+    @MockitoBean
+    private TransactionImportService transactionImportService;
+
+    @MockitoBean
+    private TransactionRateLimiter rateLimiter;
+
     private UUID accountId;
     private UUID transactionId;
     private TransactionResponse transactionResponse;
@@ -195,6 +228,31 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/transactions/export - Should stream the export as CSV")
+    void shouldStreamCsvExport() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(6);
+            out.write("id,accountId\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionExportService).export(eq(accountId), any(), any(), any(), any(), eq(ExportFormat.CSV), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions/export")
+                        .param("accountId", accountId.toString())
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,accountId\r\n"));
+    }
+
     @Test
     @DisplayName("GET /api/v1/transactions/{id} - Should return transaction by ID")
     void shouldReturnTransactionById() throws Exception {
@@ -237,7 +295,7 @@ class TransactionControllerTest {
                 LocalDateTime.now()
         );
 
-        when(transactionService.create(any(CreateTransactionRequest.class))).thenReturn(newTransaction);
+        when(transactionService.create(any(CreateTransactionRequest.class), isNull())).thenReturn(newTransaction);
 
         // When/Then
         mockMvc.perform(post("/api/v1/transactions")
@@ -252,6 +310,92 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/transactions - Should forward the Idempotency-Key header")
+    void shouldForwardIdempotencyKey() throws Exception {
+        // Given
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                accountId,
+                new BigDecimal("250.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Online purchase"
+        );
+
+        when(transactionService.create(any(CreateTransactionRequest.class), eq("retry-key-1")))
+                .thenReturn(transactionResponse);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(transactionId.toString()));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/transactions - Should return 429 with Retry-After when rate limited")
+    void shouldReturnTooManyRequestsWhenRateLimited() throws Exception {
+        // Given
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                accountId,
+                new BigDecimal("250.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Online purchase"
+        );
+
+        doThrow(new RateLimitExceededException("Too many transactions for account " + accountId, Duration.ofMillis(1500)))
+                .when(rateLimiter).check(any(HttpServletRequest.class), eq(accountId));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"));
+
+        verify(transactionService, never()).create(any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/transactions - Should return 202 for a PENDING transaction")
+    void shouldReturnAcceptedForPendingTransaction() throws Exception {
+        // Given
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                accountId,
+                new BigDecimal("250.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Online purchase"
+        );
+
+        TransactionResponse pendingTransaction = new TransactionResponse(
+                transactionId,
+                accountId,
+                new BigDecimal("250.00"),
+                Currency.GBP,
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Online purchase",
+                TransactionStatus.PENDING,
+                0,
+                LocalDateTime.now()
+        );
+
+        when(transactionService.create(any(CreateTransactionRequest.class), isNull())).thenReturn(pendingTransaction);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/transactions/" + transactionId))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
     @Test
     @DisplayName("POST /api/v1/transactions - Should return 400 for invalid request")
     void shouldReturn400ForInvalidCreateRequest() throws Exception {
@@ -273,6 +417,70 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/transactions/batch - Should return per-item results")
+    void shouldCreateTransactionBatch() throws Exception {
+        // Given
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                accountId,
+                new BigDecimal("250.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Online purchase"
+        );
+        BatchTransactionResponse batchResponse = BatchTransactionResponse.from(List.of(
+                BatchItemResult.accepted(0, BatchItemStatus.CREATED, transactionResponse),
+                BatchItemResult.rejected(1, BatchItemStatus.REJECTED_INSUFFICIENT_BALANCE, "Insufficient balance")
+        ));
+
+        when(transactionService.createBatch(anyList())).thenReturn(batchResponse);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateTransactionBatchRequest(List.of(request, request)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].transaction.id").value(transactionId.toString()))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED_INSUFFICIENT_BALANCE"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/transactions/batch - Should return 400 for empty batch")
+    void shouldReturn400ForEmptyBatch() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/transactions/import - Should stream the body to the import")
+    void shouldImportTransactions() throws Exception {
+        // Given
+        String csv = "accountId,amount,currency,type,category,timestamp\r\n"
+                + accountId + ",250.00,GBP,DEBIT,PAYMENT,2020-01-15T10:00\r\n";
+        doAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body).isEqualTo(csv);
+            return new TransactionImportResponse(1, 0, 1, 0, 0, false, 5);
+        }).when(transactionImportService).importTransactions(eq(ExportFormat.CSV), any(InputStream.class), eq(false), eq(0L));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/transactions/import")
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.rescored").value(false));
+    }
+
     @Test
     @DisplayName("GET /api/v1/transactions/flagged - Should return flagged transactions")
     void shouldReturnFlaggedTransactions() throws Exception {
@@ -0,0 +1,169 @@
+package net.matheodrd.bankapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.ReadReplicaProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReadReplicaRoutingDataSource Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private Connection primaryConnection;
+    private ReadConsistency readConsistency;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        readConsistency = new ReadConsistency(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary and alternate read-only transactions between replicas")
+    void shouldRoundRobinReadOnlyTransactions() throws SQLException {
+        // Given
+        HikariDataSource first = replica("replica-0", 0);
+        HikariDataSource second = replica("replica-1", 0);
+        ReadReplicaRoutingDataSource routing = routing(ReadReplicaProperties.Balancing.ROUND_ROBIN, first, second);
+        routing.checkReplicas();
+
+        // When / Then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        for (int i = 0; i < 3; i++) {
+            assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+        }
+        // One connection each for the lag check
+        verify(first, times(3)).getConnection();
+        verify(second, times(2)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should pick the replica with the fewest active connections")
+    void shouldPickLeastConnections() throws SQLException {
+        // Given
+        HikariDataSource busy = replica("replica-0", 0);
+        HikariDataSource idle = replica("replica-1", 0);
+        activeConnections(busy, 8);
+        activeConnections(idle, 2);
+        ReadReplicaRoutingDataSource routing = routing(ReadReplicaProperties.Balancing.LEAST_CONNECTIONS, busy, idle);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        routing.getConnection();
+
+        // Then
+        verify(idle, times(2)).getConnection();
+        verify(busy, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags or has not been checked yet")
+    void shouldFallBackWhenReplicaLags() throws SQLException {
+        // Given
+        HikariDataSource lagging = replica("replica-0", 60_000);
+        ReadReplicaRoutingDataSource routing = routing(ReadReplicaProperties.Balancing.ROUND_ROBIN, lagging);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When / Then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        routing.checkReplicas();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("bank.datasource.replica.lag").gauge().value()).isEqualTo(60_000.0);
+        assertThat(meterRegistry.get("bank.datasource.reads").tag("reason", "no-healthy-replica").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should read an account from the primary within the read-your-writes window")
+    void shouldReadYourWrites() throws SQLException {
+        // Given
+        HikariDataSource replica = replica("replica-0", 0);
+        ReadReplicaRoutingDataSource routing = routing(ReadReplicaProperties.Balancing.ROUND_ROBIN, replica);
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        UUID written = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        readConsistency.recordWrite(written);
+
+        // When
+        Connection forWritten = readConsistency.forAccount(written, () -> connection(routing));
+        Connection forUntouched = readConsistency.forAccount(untouched, () -> connection(routing));
+        Connection forced = readConsistency.fromPrimary(() -> connection(routing));
+
+        // Then
+        assertThat(forWritten).isSameAs(primaryConnection);
+        assertThat(forUntouched).isNotSameAs(primaryConnection);
+        assertThat(forced).isSameAs(primaryConnection);
+        assertThat(readConsistency.requiresPrimary()).isFalse();
+    }
+
+    private ReadReplicaRoutingDataSource routing(ReadReplicaProperties.Balancing balancing, HikariDataSource... replicas) {
+        ReadReplicaProperties properties = new ReadReplicaProperties(
+                true, List.of(), balancing, Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofMinutes(1)
+        );
+        return new ReadReplicaRoutingDataSource(primary, List.of(replicas), properties, readConsistency, meterRegistry);
+    }
+
+    // Answers the lag query with the given lag and any other getConnection() with a fresh connection
+    private static HikariDataSource replica(String name, long lagMillis) throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getPoolName()).thenReturn(name);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            Statement statement = mock(Statement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            lenient().when(connection.createStatement()).thenReturn(statement);
+            lenient().when(statement.executeQuery(anyString())).thenReturn(resultSet);
+            lenient().when(resultSet.next()).thenReturn(true);
+            lenient().when(resultSet.getLong(1)).thenReturn(lagMillis);
+            return connection;
+        });
+        return dataSource;
+    }
+
+    private static void activeConnections(HikariDataSource dataSource, int active) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.matheodrd.bankapi.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvTransactionWriter Tests")
+class CsvTransactionWriterTest {
+
+    @Test
+    @DisplayName("Should write header and quote descriptions containing separators")
+    void shouldWriteHeaderAndEscapeDescription() throws Exception {
+        // Given
+        UUID id = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID accountId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        ExportRow row = new ExportRow(
+                id,
+                accountId,
+                new BigDecimal("150.0000"),
+                "GBP",
+                "DEBIT",
+                "PAYMENT",
+                "Rent, \"March\"",
+                "COMPLETED",
+                20,
+                LocalDateTime.of(2025, 3, 1, 9, 30)
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (CsvTransactionWriter writer = new CsvTransactionWriter(out)) {
+            writer.write(row);
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,accountId,amount,currency,type,category,description,status,riskScore,timestamp\r\n"
+                        + id + "," + accountId + ",150.0000,GBP,DEBIT,PAYMENT,\"Rent, \"\"March\"\"\",COMPLETED,20,2025-03-01T09:30\r\n"
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package net.matheodrd.bankapi.ingest;
+
+import net.matheodrd.bankapi.exception.InvalidImportException;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CsvTransactionReader Tests")
+class CsvTransactionReaderTest {
+
+    private static final UUID ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID ACCOUNT_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    @DisplayName("Should read the export format, including quoted descriptions over several lines")
+    void shouldReadExportFormat() throws Exception {
+        // Given
+        String csv = "id,accountId,amount,currency,type,category,description,status,riskScore,timestamp\r\n"
+                + ID + "," + ACCOUNT_ID + ",150.0000,GBP,DEBIT,PAYMENT,\"Rent, \"\"March\"\"\r\nflat 2\",FLAGGED,80,2025-03-01T09:30\r\n";
+
+        // When
+        ImportRow row;
+        ImportRow end;
+        try (CsvTransactionReader reader = reader(csv)) {
+            row = reader.next();
+            end = reader.next();
+        }
+
+        // Then
+        assertThat(row).isEqualTo(new ImportRow(
+                ID,
+                ACCOUNT_ID,
+                new BigDecimal("150.0000"),
+                Currency.GBP,
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Rent, \"March\"\nflat 2",
+                TransactionStatus.FLAGGED,
+                80,
+                LocalDateTime.of(2025, 3, 1, 9, 30)
+        ));
+        assertThat(end).isNull();
+    }
+
+    @Test
+    @DisplayName("Should find columns by name and default the optional ones")
+    void shouldDefaultOptionalColumns() throws Exception {
+        // Given
+        String csv = "timestamp,accountId,type,category,currency,amount\n"
+                + "2019-12-31T23:59:59," + ACCOUNT_ID + ",CREDIT,DEPOSIT,EUR,10\n"
+                + "\n";
+
+        // When
+        ImportRow row;
+        try (CsvTransactionReader reader = reader(csv)) {
+            row = reader.next();
+            assertThat(reader.next()).isNull();
+        }
+
+        // Then
+        assertThat(row.id()).isNull();
+        assertThat(row.description()).isNull();
+        assertThat(row.status()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(row.riskScore()).isZero();
+        assertThat(row.amount()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("Should report the line of an invalid or PENDING row")
+    void shouldRejectInvalidRows() throws Exception {
+        // Given
+        String csv = "accountId,amount,currency,type,category,status,timestamp\n"
+                + ACCOUNT_ID + ",10,GBP,DEBIT,PAYMENT,COMPLETED,2020-01-01T00:00\n"
+                + ACCOUNT_ID + ",10,GBP,DEBIT,PAYMENT,PENDING,2020-01-01T00:00\n"
+                + ACCOUNT_ID + ",ten,GBP,DEBIT,PAYMENT,COMPLETED,2020-01-01T00:00\n";
+
+        // When/Then
+        try (CsvTransactionReader reader = reader(csv)) {
+            assertThat(reader.next()).isNotNull();
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(InvalidImportException.class)
+                    .hasMessageStartingWith("Line 3: PENDING");
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(InvalidImportException.class)
+                    .hasMessageStartingWith("Line 4:");
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode rows in COPY text format")
+    void shouldEncodeCopyText() {
+        // Given
+        ImportRow row = ImportRow.parse(1, null, ACCOUNT_ID.toString(), "1.5", "GBP", "CREDIT", "DEPOSIT",
+                "Tab\there\\", null, null, "2024-02-29T12:00");
+        StringBuilder out = new StringBuilder();
+
+        // When
+        CopyTextEncoder.append(out, ID, row);
+
+        // Then
+        assertThat(out.toString()).isEqualTo(
+                ID + "\t" + ACCOUNT_ID + "\t1.5\tGBP\tCREDIT\tDEPOSIT\tTab\\there\\\\\tCOMPLETED\t0\t2024-02-29T12:00\n");
+    }
+
+    private static CsvTransactionReader reader(String csv) throws Exception {
+        return new CsvTransactionReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,91 @@
+package net.matheodrd.bankapi.model;
+
+import net.matheodrd.bankapi.model.enums.Currency;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Balance math of a batch chunk, per transaction: high amount check, overdraft check and balance update.
+// Run with ./mvnw test -Pbenchmark, gc.alloc.rate.norm is the allocation per transaction.
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int CHUNK = 500;
+    private static final BigDecimal THRESHOLD = new BigDecimal("10000");
+    private static final long THRESHOLD_UNITS = Money.toMinorUnits(THRESHOLD);
+
+    private BigDecimal[] amounts;
+    private BigDecimal openingBalance;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        amounts = new BigDecimal[CHUNK];
+        for (int i = 0; i < CHUNK; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(1, 2_000_000), 2);
+        }
+        openingBalance = new BigDecimal("100000000.0000");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public int bigDecimal() {
+        BigDecimal balance = openingBalance;
+        int points = 0;
+        for (BigDecimal amount : amounts) {
+            points += amount.compareTo(THRESHOLD) > 0 ? 30 : 0;
+            if (balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount);
+            }
+        }
+        return points + balance.signum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public int money() {
+        Money balance = Money.of(openingBalance, Currency.GBP);
+        int points = 0;
+        for (BigDecimal requestAmount : amounts) {
+            Money amount = Money.of(requestAmount, Currency.GBP);
+            points += amount.minorUnits() > THRESHOLD_UNITS ? 30 : 0;
+            if (!balance.isLessThan(amount)) {
+                balance = balance.minus(amount);
+            }
+        }
+        return points + Long.signum(balance.minorUnits());
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,64 @@
+package net.matheodrd.bankapi.model;
+
+import net.matheodrd.bankapi.model.enums.Currency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert exactly between BigDecimal and minor units")
+    void shouldConvertExactly() {
+        // When
+        Money money = Money.of(new BigDecimal("1234.56"), Currency.GBP);
+
+        // Then
+        assertThat(money.minorUnits()).isEqualTo(12_345_600L);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1234.5600"));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with more than 4 decimals")
+    void shouldRejectExcessScale() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.00001"), Currency.GBP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should add and subtract in the same currency")
+    void shouldAddAndSubtract() {
+        // Given
+        Money balance = Money.of(new BigDecimal("100.00"), Currency.EUR);
+        Money amount = Money.of(new BigDecimal("0.0001"), Currency.EUR);
+
+        // When / Then
+        assertThat(balance.plus(amount).toBigDecimal()).isEqualByComparingTo("100.0001");
+        assertThat(balance.minus(amount).toBigDecimal()).isEqualByComparingTo("99.9999");
+        assertThat(amount.minus(balance).isNegative()).isTrue();
+        assertThat(amount.isLessThan(balance)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail on overflow instead of wrapping around")
+    void shouldFailOnOverflow() {
+        // Given
+        Money max = new Money(Long.MAX_VALUE, Currency.USD);
+
+        // When / Then
+        assertThatThrownBy(() -> max.plus(new Money(1L, Currency.USD)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse to mix currencies")
+    void shouldRefuseCurrencyMismatch() {
+        assertThatThrownBy(() -> Money.zero(Currency.GBP).plus(Money.zero(Currency.EUR)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,29 @@
+package net.matheodrd.bankapi.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidOrder Tests")
+class UuidOrderTest {
+
+    @Test
+    @DisplayName("Should order ids byte by byte like PostgreSQL, unlike UUID.compareTo")
+    void shouldOrderUnsignedLikePostgres() {
+        // Given
+        UUID low = UUID.fromString("7fffffff-ffff-4fff-bfff-ffffffffffff");
+        UUID high = UUID.fromString("80000000-0000-4000-8000-000000000000");
+        UUID highLowTail = UUID.fromString("80000000-0000-4000-0000-000000000000");
+
+        // When
+        List<UUID> sorted = List.of(high, low, highLowTail).stream().sorted(UuidOrder.DATABASE).toList();
+
+        // Then
+        assertThat(high.compareTo(low)).isNegative();
+        assertThat(sorted).containsExactly(low, highLowTail, high);
+    }
+}
@@ -0,0 +1,102 @@
+package net.matheodrd.bankapi.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7 Tests")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should set version 7, the RFC 9562 variant and the current time")
+    void shouldSetVersionVariantAndTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids within the same millisecond")
+    void shouldBeMonotonicWithinMillisecond() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).getMostSignificantBits()).isGreaterThan(ids.get(i - 1).getMostSignificantBits());
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique and per-thread increasing ids under concurrency")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 50_000;
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        // Then
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 1; i < ids.size(); i++) {
+                assertThat(ids.get(i).getMostSignificantBits()).isGreaterThan(ids.get(i - 1).getMostSignificantBits());
+            }
+            all.addAll(ids);
+        }
+        assertThat(all).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Should take the timestamp of a past instant and order ids by it")
+    void shouldGenerateForPastInstant() {
+        // Given
+        long earlier = 1_262_304_000_000L;
+        long later = earlier + 1;
+
+        // When
+        UUID first = UuidV7.at(earlier);
+        UUID second = UuidV7.at(later);
+
+        // Then
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(first)).isEqualTo(earlier);
+        assertThat(second.compareTo(first)).isPositive();
+    }
+}
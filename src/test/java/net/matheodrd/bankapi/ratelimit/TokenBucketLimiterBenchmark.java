@@ -0,0 +1,65 @@
+package net.matheodrd.bankapi.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one rate limit check, shared by 8 threads over 10k accounts (the hot path at 50k req/s).
+// Run with ./mvnw test -Pbenchmark, gc.alloc.rate.norm should stay at 0.
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TokenBucketLimiterBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    private TokenBucketLimiter<UUID> limiter;
+    private UUID[] accountIds;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter<>(20, 40, 100_000, Duration.ofMinutes(10));
+        accountIds = new UUID[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(accountIds[ThreadLocalRandom.current().nextInt(ACCOUNTS)]);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenBucketLimiterBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,149 @@
+package net.matheodrd.bankapi.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenBucketLimiter Tests")
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // 10 per second, so one token every 100 ms
+    private TokenBucketLimiter<UUID> limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new TokenBucketLimiter<>(10, 5, 1_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should allow a full burst then reject with the time until the next token")
+    void shouldAllowBurstThenReject() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        long now = 42 * SECOND;
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(accountId, now)).isZero();
+        }
+        long wait = limiter.tryAcquire(accountId, now);
+
+        // Then
+        assertThat(wait).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval and never above the burst")
+    void shouldRefillAtConfiguredRate() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(accountId, now);
+        }
+
+        // When/Then
+        assertThat(limiter.tryAcquire(accountId, now + SECOND / 10)).isZero();
+        assertThat(limiter.tryAcquire(accountId, now + SECOND / 10)).isPositive();
+
+        // A long idle period only refills up to the burst
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(accountId, later)).isZero();
+        }
+        assertThat(limiter.tryAcquire(accountId, later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should make a released token available again")
+    void shouldReturnReleasedToken() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(accountId, 0);
+        }
+
+        // When
+        limiter.release(accountId);
+
+        // Then
+        assertThat(limiter.tryAcquire(accountId, 0)).isZero();
+        assertThat(limiter.tryAcquire(accountId, 0)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should admit a request larger than the burst and keep the bucket empty until it is refilled")
+    void shouldBorrowTokensForLargeRequests() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+
+        // When
+        long admitted = limiter.tryAcquireAll(accountId, 12, 0);
+        long wait = limiter.tryAcquireAll(accountId, 1, 0);
+
+        // Then - 12 tokens taken from a bucket of 5: the next one is available after 8 intervals
+        assertThat(admitted).isZero();
+        assertThat(wait).isEqualTo(8 * SECOND / 10);
+        assertThat(limiter.tryAcquireAll(accountId, 1, 8 * SECOND / 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void shouldKeepBucketsPerKey() {
+        // Given
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(busy, 0);
+        }
+
+        // When/Then
+        assertThat(limiter.tryAcquire(busy, 0)).isPositive();
+        assertThat(limiter.tryAcquire(quiet, 0)).isZero();
+        assertThat(limiter.bucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never hand out more than the burst under contention")
+    void shouldNotOverGrantUnderContention() {
+        // Given
+        TokenBucketLimiter<UUID> slow = new TokenBucketLimiter<>(0.001, 50, 1_000, Duration.ofMinutes(10));
+        UUID accountId = UUID.randomUUID();
+        AtomicInteger granted = new AtomicInteger();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (slow.tryAcquire(accountId) == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // Then
+        assertThat(granted.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive rate or an empty burst")
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucketLimiter<>(0, 5, 10, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter<>(10, 0, 10, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package net.matheodrd.bankapi.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.RateLimitProperties;
+import net.matheodrd.bankapi.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TransactionRateLimiter Tests")
+class TransactionRateLimiterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    // Near-zero refill, so only the bursts count: 1 per account, 2 per client
+    private TransactionRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TransactionRateLimiter(new RateLimitProperties(
+                true,
+                new RateLimitProperties.PerAccount(0.001, 1),
+                new RateLimitProperties.PerClient(0.001, 2),
+                "X-Client-Id",
+                List.of(PROXY),
+                1_000,
+                Duration.ofMinutes(10)
+        ), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should ignore the client header from an untrusted address")
+    void shouldIgnoreClientHeaderFromUntrustedAddress() {
+        // Given
+        rateLimiter.check(request("192.0.2.10", "a"), UUID.randomUUID());
+        rateLimiter.check(request("192.0.2.10", "b"), UUID.randomUUID());
+
+        // When/Then
+        assertThatThrownBy(() -> rateLimiter.check(request("192.0.2.10", "c"), UUID.randomUUID()))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("client");
+    }
+
+    @Test
+    @DisplayName("Should keep a bucket per client header behind a trusted proxy")
+    void shouldUseClientHeaderBehindTrustedProxy() {
+        // Given
+        rateLimiter.check(request(PROXY, "a"), UUID.randomUUID());
+        rateLimiter.check(request(PROXY, "a"), UUID.randomUUID());
+
+        // When/Then
+        assertThatCode(() -> rateLimiter.check(request(PROXY, "b"), UUID.randomUUID())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.check(request(PROXY, "a"), UUID.randomUUID()))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should not charge the client for a request refused by the account limit")
+    void shouldReleaseClientTokenOnAccountRejection() {
+        // Given
+        UUID busyAccount = UUID.randomUUID();
+        rateLimiter.check(request("192.0.2.20", null), busyAccount);
+        assertThatThrownBy(() -> rateLimiter.check(request("192.0.2.20", null), busyAccount))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("account");
+
+        // When/Then
+        assertThatCode(() -> rateLimiter.check(request("192.0.2.20", null), UUID.randomUUID()))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should charge a batch one token per item and refund it when one of its accounts is limited")
+    void shouldChargeBatchPerItem() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID busyAccount = UUID.randomUUID();
+        rateLimiter.check(request("192.0.2.30", null), busyAccount);
+
+        // When/Then - refused for the busy account, nothing is kept for the client or the first account
+        assertThatThrownBy(() -> rateLimiter.check(request("192.0.2.30", null), List.of(first, busyAccount)))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining(busyAccount.toString());
+        assertThatCode(() -> rateLimiter.check(request("192.0.2.30", null), first)).doesNotThrowAnyException();
+
+        // The client got both tokens back, its last one went to the request above
+        assertThatThrownBy(() -> rateLimiter.check(request("192.0.2.30", null), UUID.randomUUID()))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("client");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions");
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package net.matheodrd.bankapi.repository;
+
+import jakarta.persistence.EntityManager;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.specification.TransactionFilter;
+import net.matheodrd.bankapi.repository.specification.TransactionSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=net.matheodrd.bankapi.repository.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Transaction filter index usage Tests")
+class TransactionFilterIndexTest {
+
+    // EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final UUID ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 31, 23, 59);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // 200 accounts x 250 transactions spread over a year
+        entityManager.createNativeQuery("""
+                INSERT INTO accounts (id, account_number, account_holder, balance, currency, status)
+                SELECT ('00000000-0000-0000-0000-' || lpad(to_hex(a), 12, '0'))::uuid,
+                       'GB' || lpad(a::text, 20, '0'), 'Holder ' || a, 1000, 'GBP', 'ACTIVE'
+                FROM generate_series(1, 200) a
+                """).executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO transactions (account_id, amount, currency, type, category, status, risk_score, timestamp)
+                SELECT ('00000000-0000-0000-0000-' || lpad(to_hex(1 + t % 200), 12, '0'))::uuid,
+                       10, 'GBP',
+                       CASE WHEN t % 2 = 0 THEN 'DEBIT' ELSE 'CREDIT' END,
+                       'PAYMENT',
+                       (ARRAY['COMPLETED', 'COMPLETED', 'COMPLETED', 'FLAGGED', 'PENDING', 'REJECTED'])[1 + t % 6],
+                       t % 100,
+                       TIMESTAMP '2025-01-01' + (t * INTERVAL '10 minutes')
+                FROM generate_series(1, 50000) t
+                """).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE accounts, transactions").executeUpdate();
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    // transactions is partitioned (V12): plans show the per-partition indexes, named <partition>_<columns>_idx
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+                Arguments.of("account + timestamp",
+                        new TransactionFilter(ACCOUNT_ID, null, null, FROM, TO),
+                        "_account_id_timestamp_id_idx"),
+                Arguments.of("status + timestamp",
+                        new TransactionFilter(null, TransactionStatus.FLAGGED, null, FROM, TO),
+                        "_status_timestamp_id_idx"),
+                Arguments.of("account + type + timestamp",
+                        new TransactionFilter(ACCOUNT_ID, null, TransactionType.DEBIT, FROM, TO),
+                        "_account_id_type_timestamp_id_idx"),
+                Arguments.of("account only",
+                        new TransactionFilter(ACCOUNT_ID, null, null, null, null),
+                        "_account_id_timestamp_id_idx")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    @DisplayName("Should use a composite index for each filter combination")
+    void shouldUseCompositeIndex(String combination, TransactionFilter filter, String expectedIndex) {
+        // Given
+        transactionRepository.findAll(
+                TransactionSpecifications.matching(filter),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+        );
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().contains("order by"))
+                .findFirst()
+                .orElseThrow();
+
+        // When
+        String plan = explainGenericPlan(sql);
+
+        // Then
+        assertThat(plan).contains(expectedIndex);
+        assertThat(plan).doesNotContain("Seq Scan on transactions");
+    }
+
+    // Plans the statement as PostgreSQL would for any parameter values, which is what the old
+    // "(:param IS NULL OR ...)" query got wrong
+    @SuppressWarnings("unchecked")
+    private String explainGenericPlan(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        List<String> lines = entityManager
+                .createNativeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)
+                .getResultList();
+        return String.join("\n", lines);
+    }
+}
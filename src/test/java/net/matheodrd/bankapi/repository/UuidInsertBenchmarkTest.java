@@ -0,0 +1,92 @@
+package net.matheodrd.bankapi.repository;
+
+import net.matheodrd.bankapi.model.id.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with ./mvnw test -Pbenchmark
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("UUID primary key insert benchmark")
+class UuidInsertBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCommand("postgres", "-c", "shared_buffers=64MB");
+
+    @Test
+    @DisplayName("UUIDv7 keys should insert faster and produce a smaller primary key index than UUIDv4")
+    void compareRandomAndTimeOrderedKeys() throws SQLException {
+        Result v4 = run("bench_v4", UUID::randomUUID);
+        Result v7 = run("bench_v7", UuidV7::next);
+
+        System.out.printf("UUIDv4: %,d rows/s, pkey %,d kB, %,d kB WAL%n", v4.rowsPerSecond(), v4.indexKb(), v4.walKb());
+        System.out.printf("UUIDv7: %,d rows/s, pkey %,d kB, %,d kB WAL%n", v7.rowsPerSecond(), v7.indexKb(), v7.walKb());
+
+        assertThat(v7.indexKb()).isLessThan(v4.indexKb());
+    }
+
+    private Result run(String table, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, amount DECIMAL(19, 4) NOT NULL)");
+                statement.execute("CHECKPOINT");
+            }
+            long walBefore = walLsn(connection);
+
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (id, amount) VALUES (?, 10)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            connection.setAutoCommit(true);
+
+            long walKb = (walLsn(connection) - walBefore) / 1024;
+            try (Statement statement = connection.createStatement();
+                 ResultSet size = statement.executeQuery(
+                         "SELECT pg_relation_size('" + table + "_pkey') / 1024")) {
+                size.next();
+                return new Result(ROWS * 1_000_000_000L / elapsedNanos, size.getLong(1), walKb);
+            }
+        }
+    }
+
+    private long walLsn(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet lsn = statement.executeQuery("SELECT pg_current_wal_lsn() - '0/0'::pg_lsn")) {
+            lsn.next();
+            return lsn.getLong(1);
+        }
+    }
+
+    private record Result(long rowsPerSecond, long indexKb, long walKb) {
+    }
+}
@@ -0,0 +1,162 @@
+package net.matheodrd.bankapi.risk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.RiskProperties;
+import net.matheodrd.bankapi.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RiskRuleEngine Tests")
+class RiskRuleEngineTest {
+
+    private RiskProperties riskProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private RiskContext context;
+    private List<String> evaluated;
+
+    @BeforeEach
+    void setUp() {
+        riskProperties = new RiskProperties(
+                70,
+                new RiskProperties.Rules(
+                        new RiskProperties.HighAmount(true, new BigDecimal("10000"), 30),
+                        new RiskProperties.NightTime(true, 23, 6, 20),
+                        new RiskProperties.Velocity(true, Duration.ofHours(1), 5, 40)
+                )
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        context = new RiskContext(UUID.randomUUID(), Money.toMinorUnits(new BigDecimal("100.00")), LocalDateTime.now());
+        evaluated = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should evaluate rules from cheapest to most expensive")
+    void shouldEvaluateRulesByCost() {
+        // Given
+        RiskRuleEngine engine = new RiskRuleEngine(
+                List.of(rule("io", RiskRule.COST_IO, 0), rule("cheap", RiskRule.COST_CHEAP, 0)),
+                riskProperties,
+                meterRegistry
+        );
+
+        // When
+        engine.evaluate(context);
+
+        // Then
+        assertThat(engine.ruleNames()).containsExactly("cheap", "io");
+        assertThat(evaluated).containsExactly("cheap", "io");
+    }
+
+    @Test
+    @DisplayName("Should stop evaluating once the score is above the flag threshold")
+    void shouldStopAboveFlagThreshold() {
+        // Given
+        RiskRuleEngine engine = new RiskRuleEngine(
+                List.of(rule("first", 1, 50), rule("second", 2, 30), rule("third", 3, 40)),
+                riskProperties,
+                meterRegistry
+        );
+
+        // When
+        int score = engine.evaluate(context);
+
+        // Then
+        assertThat(score).isEqualTo(80);
+        assertThat(evaluated).containsExactly("first", "second");
+    }
+
+    @Test
+    @DisplayName("Should record hits and evaluation time per rule")
+    void shouldRecordPerRuleMetrics() {
+        // Given
+        RiskRuleEngine engine = new RiskRuleEngine(
+                List.of(rule("matching", 1, 10), rule("silent", 2, 0)),
+                riskProperties,
+                meterRegistry
+        );
+
+        // When
+        engine.evaluate(context);
+        engine.evaluate(context);
+
+        // Then
+        assertThat(meterRegistry.get("bank.risk.rule.hits").tag("rule", "matching").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("bank.risk.rule.hits").tag("rule", "silent").counter().count()).isZero();
+        assertThat(meterRegistry.get("bank.risk.rule.evaluation").tag("rule", "silent").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip the rules using account history when scoring historical rows")
+    void shouldSkipHistoryRules() {
+        // Given
+        RiskRule history = historyRule("history", 40);
+        RiskRuleEngine engine = new RiskRuleEngine(
+                List.of(rule("amount", 1, 10), history),
+                riskProperties,
+                meterRegistry
+        );
+
+        // When
+        int score = engine.evaluateWithoutHistory(context);
+
+        // Then
+        assertThat(score).isEqualTo(10);
+        assertThat(evaluated).containsExactly("amount");
+        assertThat(engine.ruleNames()).containsExactly("amount", "history");
+    }
+
+    private RiskRule historyRule(String name, int points) {
+        RiskRule rule = rule(name, RiskRule.COST_IO, points);
+        return new RiskRule() {
+            @Override
+            public String name() {
+                return rule.name();
+            }
+
+            @Override
+            public int cost() {
+                return rule.cost();
+            }
+
+            @Override
+            public boolean usesHistory() {
+                return true;
+            }
+
+            @Override
+            public int evaluate(RiskContext ctx) {
+                return rule.evaluate(ctx);
+            }
+        };
+    }
+
+    private RiskRule rule(String name, int cost, int points) {
+        return new RiskRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int cost() {
+                return cost;
+            }
+
+            @Override
+            public int evaluate(RiskContext ctx) {
+                evaluated.add(name);
+                return points;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.Currency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccountCache Tests")
+class AccountCacheTest {
+
+    private AccountCache accountCache;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountCache = new AccountCache(new ConcurrentMapCacheManager(AccountCache.ACCOUNTS, AccountCache.ACCOUNT_DETAILS));
+        account = Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("GB29NWBK60161331926819")
+                .accountHolder("John Doe")
+                .balance(new BigDecimal("1000.00"))
+                .currency(Currency.GBP)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should cache a snapshot that does not follow later changes to the entity")
+    void shouldCacheImmutableSnapshot() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        accountCache.getAccount(account.getId(), () -> {
+            loads.incrementAndGet();
+            return Optional.of(account);
+        });
+
+        // When
+        account.setStatus(AccountStatus.SUSPENDED);
+        Optional<AccountSnapshot> cached = accountCache.getAccount(account.getId(), () -> {
+            loads.incrementAndGet();
+            return Optional.of(account);
+        });
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(cached).map(AccountSnapshot::status).contains(AccountStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that overlapped an eviction of the same account")
+    void shouldSkipPutAfterConcurrentEviction() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        accountCache.getAccount(account.getId(), () -> {
+            loads.incrementAndGet();
+            Account stale = Account.builder()
+                    .id(account.getId())
+                    .balance(account.getBalance())
+                    .currency(account.getCurrency())
+                    .status(AccountStatus.ACTIVE)
+                    .build();
+            // A writer suspends the account and evicts it while the row is being read
+            account.setStatus(AccountStatus.SUSPENDED);
+            accountCache.evict(account.getId());
+            return Optional.of(stale);
+        });
+        Optional<AccountSnapshot> reloaded = accountCache.getAccount(account.getId(), () -> {
+            loads.incrementAndGet();
+            return Optional.of(account);
+        });
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded).map(AccountSnapshot::status).contains(AccountStatus.SUSPENDED);
+    }
+}
@@ -0,0 +1,94 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountNumberGenerator Tests")
+class AccountNumberGeneratorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Test
+    @DisplayName("Should format the sequence value with valid mod-97 check digits")
+    void shouldFormatWithCheckDigits() {
+        // When
+        String accountNumber = AccountNumberGenerator.format(1);
+
+        // Then
+        assertThat(accountNumber).isEqualTo("GB8800000000000000000001");
+        assertThat(isValid(accountNumber)).isTrue();
+        assertThat(isValid("GB29NWBK60161331926819")).isTrue();
+        assertThat(isValid("GB28NWBK60161331926819")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hand out a whole block before fetching the next one")
+    void shouldAllocateByBlocks() {
+        // Given
+        when(accountRepository.nextAccountNumberBlock()).thenReturn(1L, 101L);
+        Set<String> numbers = new HashSet<>();
+
+        // When
+        for (int i = 0; i < AccountNumberGenerator.BLOCK_SIZE + 1; i++) {
+            numbers.add(accountNumberGenerator.next());
+        }
+
+        // Then
+        assertThat(numbers).hasSize(AccountNumberGenerator.BLOCK_SIZE + 1)
+                .allMatch(AccountNumberGeneratorTest::isValid)
+                .contains(AccountNumberGenerator.format(101));
+        verify(accountRepository, times(2)).nextAccountNumberBlock();
+    }
+
+    @Test
+    @DisplayName("Should finish the current block then reserve the missing blocks in one query")
+    void shouldAllocateManyNumbersAtOnce() {
+        // Given
+        when(accountRepository.nextAccountNumberBlock()).thenReturn(1L);
+        when(accountRepository.nextAccountNumberBlocks(2)).thenReturn(List.of(201L, 301L));
+        String first = accountNumberGenerator.next();
+
+        // When
+        List<String> numbers = accountNumberGenerator.next(250);
+
+        // Then
+        assertThat(numbers).hasSize(250)
+                .doesNotHaveDuplicates()
+                .doesNotContain(first)
+                .allMatch(AccountNumberGeneratorTest::isValid)
+                .startsWith(AccountNumberGenerator.format(2))
+                .contains(AccountNumberGenerator.format(100), AccountNumberGenerator.format(201), AccountNumberGenerator.format(301))
+                .endsWith(AccountNumberGenerator.format(351));
+        assertThat(accountNumberGenerator.next()).isEqualTo(AccountNumberGenerator.format(352));
+        verify(accountRepository).nextAccountNumberBlocks(2);
+        verify(accountRepository, times(1)).nextAccountNumberBlock();
+    }
+
+    // ISO 13616 check: the rearranged number, letters as 10-35, must be 1 mod 97
+    static boolean isValid(String iban) {
+        String rearranged = iban.substring(4) + iban.substring(0, 4);
+        int mod = 0;
+        for (int i = 0; i < rearranged.length(); i++) {
+            int value = Character.getNumericValue(rearranged.charAt(i));
+            mod = (value > 9 ? mod * 100 + value : mod * 10 + value) % 97;
+        }
+        return mod == 1;
+    }
+}
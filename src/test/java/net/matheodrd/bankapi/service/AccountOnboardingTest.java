@@ -0,0 +1,121 @@
+package net.matheodrd.bankapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small chunks, so that a few rows already span several COPY transactions
+@SpringBootTest(properties = "bank.accounts.onboarding.chunk-size=2")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Account onboarding Tests")
+class AccountOnboardingTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private AccountOnboardingService accountOnboardingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should open the valid rows and report every row in input order")
+    void shouldOnboardValidRowsAndReportRejections() throws Exception {
+        // Given
+        String ndjson = """
+                {"reference":"C-1","accountHolder":"Jane Doe","initialBalance":250.10,"currency":"GBP"}
+                {"reference":"C-2","accountHolder":"","initialBalance":10,"currency":"GBP"}
+                {"reference":"C-3","accountHolder":"John\\tSmith","initialBalance":0,"currency":"EUR"}
+                {"reference":"C-4","accountHolder":"No Money","initialBalance":-1,"currency":"EUR"}
+                {"reference":"C-5","accountHolder":"Ann Lee","initialBalance":5,"currency":"XYZ"}
+                """;
+
+        // When
+        List<JsonNode> results = onboard(ExportFormat.NDJSON, ndjson).lines()
+                .map(this::readTree)
+                .toList();
+
+        // Then
+        assertThat(results).extracting(result -> result.get("reference").asText())
+                .containsExactly("C-1", "C-2", "C-3", "C-4", "C-5");
+        assertThat(results).extracting(result -> result.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "CREATED", "REJECTED", "REJECTED");
+        assertThat(results.get(1).get("error").asText()).contains("accountHolder");
+        assertThat(results.get(3).get("error").asText()).startsWith("initialBalance");
+        assertThat(results.get(4).get("error").asText()).isEqualTo("currency: unknown currency XYZ");
+
+        Account jane = accountRepository.findById(UUID.fromString(results.get(0).get("id").asText())).orElseThrow();
+        assertThat(jane.getAccountNumber()).isEqualTo(results.get(0).get("accountNumber").asText());
+        assertThat(jane.getBalance()).isEqualByComparingTo("250.10");
+        assertThat(jane.getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(AccountNumberGeneratorTest.isValid(jane.getAccountNumber())).isTrue();
+
+        Account john = accountRepository.findById(UUID.fromString(results.get(2).get("id").asText())).orElseThrow();
+        assertThat(john.getAccountHolder()).isEqualTo("John\tSmith");
+    }
+
+    @Test
+    @DisplayName("Should keep the rows before a malformed line and report where the input stopped")
+    void shouldStopAtMalformedCsv() throws Exception {
+        // Given
+        String csv = "reference,accountHolder,initialBalance,currency\n"
+                + "A-1,First Holder,1,USD\n"
+                + "A-2,Second Holder,2,USD\n"
+                + "A-3,Third Holder,3,USD\n"
+                + "A-4,\"Unterminated,4,USD\n";
+
+        // When
+        List<String> lines = onboard(ExportFormat.CSV, csv).lines().toList();
+
+        // Then
+        assertThat(lines.getFirst()).isEqualTo("line,reference,status,id,accountNumber,error");
+        assertThat(lines.subList(1, 4)).allMatch(line -> line.contains(",CREATED,"));
+        assertThat(lines.getLast()).contains("REJECTED");
+        assertThat(lines).hasSize(5);
+
+        List<UUID> ids = new ArrayList<>();
+        for (String line : lines.subList(1, 4)) {
+            ids.add(UUID.fromString(line.split(",")[3]));
+        }
+        assertThat(accountRepository.findAllById(ids)).hasSize(3);
+    }
+
+    private String onboard(ExportFormat format, String input) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountOnboardingService.onboard(format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
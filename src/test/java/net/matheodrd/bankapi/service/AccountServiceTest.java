@@ -1,5 +1,9 @@
 package net.matheodrd.bankapi.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.concurrency.OptimisticLockRetry;
+import net.matheodrd.bankapi.config.OptimisticRetryProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
 import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
 import net.matheodrd.bankapi.dto.request.UpdateAccountStatusRequest;
 import net.matheodrd.bankapi.dto.response.AccountDetailResponse;
@@ -17,13 +21,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +55,26 @@ class AccountServiceTest {
     @Mock
     private AccountMapper accountMapper;
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(
+            new ConcurrentMapCacheManager(AccountCache.ACCOUNTS, AccountCache.ACCOUNT_DETAILS)
+    );
+
+    @Spy
+    private ReadConsistency readConsistency = new ReadConsistency(Duration.ZERO);
+
+    @Spy
+    private OptimisticLockRetry optimisticLockRetry = new OptimisticLockRetry(
+            new OptimisticRetryProperties(4, Duration.ZERO, Duration.ZERO, 0.2, 100, 1000),
+            new SimpleMeterRegistry()
+    );
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -54,6 +84,9 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         account = Account.builder()
                 .id(UUID.randomUUID())
                 .accountNumber("GB29NWBK60161331926819")
@@ -70,6 +103,7 @@ class AccountServiceTest {
                 account.getAccountNumber(),
                 account.getAccountHolder(),
                 account.getBalance(),
+                account.getBalance(),
                 account.getCurrency(),
                 account.getStatus()
         );
@@ -111,13 +145,15 @@ class AccountServiceTest {
                 "GB29NWBK60161331926819",
                 "John Doe",
                 new BigDecimal("1000.00"),
+                new BigDecimal("1000.00"),
                 Currency.GBP,
                 AccountStatus.ACTIVE,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
                 5L,
                 new BigDecimal("200.00"),
-                new BigDecimal("300.00")
+                new BigDecimal("300.00"),
+                LocalDateTime.now()
         );
 
         when(accountRepository.findDetailById(accountId)).thenReturn(Optional.of(projection));
@@ -151,7 +187,7 @@ class AccountServiceTest {
     @DisplayName("Should create account successfully")
     void shouldCreateAccountSuccessfully() {
         // Given
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accountNumberGenerator.next()).thenReturn("GB8800000000000000000001");
         when(accountMapper.toEntityWithDefaults(any(CreateAccountRequest.class), anyString()))
                 .thenReturn(account);
         when(accountRepository.save(account)).thenReturn(account);
@@ -184,6 +220,28 @@ class AccountServiceTest {
         verify(accountRepository).findById(accountId);
     }
 
+    @Test
+    @DisplayName("Should re-run the status update in a new transaction after an optimistic lock conflict")
+    void shouldRetryStatusUpdateOnOptimisticLockConflict() {
+        // Given
+        UUID accountId = account.getId();
+        when(accountRepository.findById(accountId))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId))
+                .thenReturn(Optional.of(account));
+        when(accountMapper.toResponse(account)).thenReturn(accountResponse);
+
+        // When
+        AccountResponse result = accountService.updateStatus(accountId, new UpdateAccountStatusRequest(AccountStatus.SUSPENDED));
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.SUSPENDED);
+        verify(transactionTemplate, times(2)).execute(any());
+        assertThat(optimisticLockRetry.hotAccounts(10))
+                .singleElement()
+                .satisfies(hot -> assertThat(hot.retries()).isEqualTo(1));
+    }
+
     @Test
     @DisplayName("Should throw exception when updating non-existent account")
     void shouldThrowExceptionWhenUpdatingNonExistentAccount() {
@@ -197,4 +255,56 @@ class AccountServiceTest {
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("Account not found");
     }
+
+    @Test
+    @DisplayName("Should serve account details from cache until the account status changes")
+    void shouldCacheAccountDetailsUntilStatusChange() {
+        // Given
+        UUID accountId = account.getId();
+        AccountDetailProjection projection = mock(AccountDetailProjection.class);
+        AccountDetailResponse detailResponse = new AccountDetailResponse(
+                accountId,
+                "GB29NWBK60161331926819",
+                "John Doe",
+                new BigDecimal("1000.00"),
+                new BigDecimal("1000.00"),
+                Currency.GBP,
+                AccountStatus.ACTIVE,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                0L,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                null
+        );
+        when(accountRepository.findDetailById(accountId)).thenReturn(Optional.of(projection));
+        when(accountMapper.toDetailResponse(projection)).thenReturn(detailResponse);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountMapper.toResponse(account)).thenReturn(accountResponse);
+
+        // When
+        accountService.findById(accountId);
+        accountService.findById(accountId);
+        accountService.updateStatus(accountId, new UpdateAccountStatusRequest(AccountStatus.SUSPENDED));
+        accountService.findById(accountId);
+
+        // Then
+        verify(accountRepository, times(2)).findDetailById(accountId);
+        verify(accountCache).evict(accountId);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown accounts")
+    void shouldNotCacheUnknownAccounts() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findDetailById(accountId)).thenReturn(Optional.empty());
+
+        // When
+        assertThatThrownBy(() -> accountService.findById(accountId)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> accountService.findById(accountId)).isInstanceOf(EntityNotFoundException.class);
+
+        // Then
+        verify(accountRepository, times(2)).findDetailById(accountId);
+    }
 }
@@ -0,0 +1,274 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import net.matheodrd.bankapi.config.HoldProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.request.CaptureHoldRequest;
+import net.matheodrd.bankapi.dto.request.CreateHoldRequest;
+import net.matheodrd.bankapi.dto.response.HoldResponse;
+import net.matheodrd.bankapi.exception.AccountSuspendedException;
+import net.matheodrd.bankapi.exception.HoldNotActiveException;
+import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidHoldException;
+import net.matheodrd.bankapi.mapper.HoldMapper;
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.Hold;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.HoldStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.HoldRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HoldService Tests")
+class HoldServiceTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStatsRepository accountStatsRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private HoldMapper holdMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private AccountLockStripes accountLocks = new AccountLockStripes(
+            new AccountLockProperties(4, true),
+            new SimpleMeterRegistry()
+    );
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(new NoOpCacheManager());
+
+    @Spy
+    private ReadConsistency readConsistency = new ReadConsistency(Duration.ZERO);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private HoldProperties properties = new HoldProperties(
+            Duration.ofDays(7), Duration.ofDays(30), Duration.ofSeconds(10), 500, Duration.ofMinutes(5)
+    );
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private HoldService holdService;
+
+    private Account account;
+    private Hold hold;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        account = Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("GB29NWBK60161331926819")
+                .accountHolder("John Doe")
+                .balance(new BigDecimal("1000.00"))
+                .currency(Currency.GBP)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        hold = Hold.builder()
+                .id(UUID.randomUUID())
+                .accountId(account.getId())
+                .amount(new BigDecimal("100.0000"))
+                .currency(Currency.GBP)
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should reserve funds and store an ACTIVE hold expiring after the requested duration")
+    void shouldPlaceHold() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.reserve(account.getId(), new BigDecimal("100.0000")))
+                .thenReturn(Optional.of(new BigDecimal("100.0000")));
+        when(holdRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        holdService.place(new CreateHoldRequest(account.getId(), new BigDecimal("100.00"), Duration.ofMinutes(15), "Hotel"));
+
+        // Then
+        ArgumentCaptor<Hold> saved = ArgumentCaptor.forClass(Hold.class);
+        verify(holdRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(HoldStatus.ACTIVE);
+        assertThat(saved.getValue().getExpiresAt())
+                .isBetween(LocalDateTime.now().plusMinutes(14), LocalDateTime.now().plusMinutes(16));
+        assertThat(meterRegistry.get("bank.holds.placed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should refuse a hold above the available balance or with an invalid expiry")
+    void shouldRefuseInvalidHolds() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.reserve(any(), any())).thenReturn(Optional.empty());
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.ACTIVE));
+
+        // When / Then
+        assertThatThrownBy(() -> holdService.place(
+                new CreateHoldRequest(account.getId(), new BigDecimal("5000.00"), null, null)))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> holdService.place(
+                new CreateHoldRequest(account.getId(), BigDecimal.TEN, Duration.ofDays(31), null)))
+                .isInstanceOf(InvalidHoldException.class);
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse a hold when the account was suspended after being cached")
+    void shouldRefuseHoldOnSuspendedAccount() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.reserve(any(), any())).thenReturn(Optional.empty());
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.SUSPENDED));
+
+        // When / Then
+        assertThatThrownBy(() -> holdService.place(
+                new CreateHoldRequest(account.getId(), BigDecimal.TEN, null, null)))
+                .isInstanceOf(AccountSuspendedException.class);
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should capture part of a hold as a DEBIT and release the remainder")
+    void shouldCapturePartOfHold() {
+        // Given
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.findByIdForUpdate(hold.getId())).thenReturn(Optional.of(hold));
+        when(accountRepository.captureHeld(account.getId(), new BigDecimal("100.0000"), new BigDecimal("40.0000")))
+                .thenReturn(Optional.of(new BigDecimal("960.0000")));
+        when(transactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        holdService.capture(hold.getId(), new CaptureHoldRequest(new BigDecimal("40.00")));
+
+        // Then
+        ArgumentCaptor<Transaction> debit = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(debit.capture());
+        assertThat(debit.getValue().getType()).isEqualTo(TransactionType.DEBIT);
+        assertThat(debit.getValue().getAmount()).isEqualByComparingTo("40.00");
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(hold.getResolvedAt()).isNotNull();
+        verify(accountStatsRepository).increment(eq(account.getId()), eq(1L), eq(new BigDecimal("40.0000")), eq(BigDecimal.ZERO), any());
+        // The hold is looked up on the primary, a replica may not have it yet
+        verify(readConsistency).fromPrimary(any());
+        verify(readConsistency).recordWrite(account.getId());
+    }
+
+    @Test
+    @DisplayName("Should not capture more than held, nor resolve a hold twice or after expiry")
+    void shouldRejectInvalidResolutions() {
+        // Given
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.findByIdForUpdate(hold.getId())).thenReturn(Optional.of(hold));
+
+        // When / Then
+        assertThatThrownBy(() -> holdService.capture(hold.getId(), new CaptureHoldRequest(new BigDecimal("100.01"))))
+                .isInstanceOf(InvalidHoldException.class);
+
+        hold.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        assertThatThrownBy(() -> holdService.release(hold.getId()))
+                .isInstanceOf(HoldNotActiveException.class)
+                .hasMessageContaining("expired");
+
+        hold.setStatus(HoldStatus.RELEASED);
+        assertThatThrownBy(() -> holdService.release(hold.getId()))
+                .isInstanceOf(HoldNotActiveException.class);
+        verify(accountRepository, never()).releaseHeld(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should read a hold again from the primary when its account was just written")
+    void shouldReadHoldOfRecentlyWrittenAccountFromPrimary() {
+        // Given
+        HoldResponse response = new HoldResponse(hold.getId(), account.getId(), hold.getAmount(), hold.getCurrency(),
+                null, hold.getStatus(), hold.getExpiresAt(), null, null, null);
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdMapper.toResponse(hold)).thenReturn(response);
+        doReturn(true).when(readConsistency).recentlyWritten(account.getId());
+
+        // When
+        HoldResponse result = holdService.findById(hold.getId());
+
+        // Then
+        assertThat(result).isSameAs(response);
+        verify(readConsistency).fromPrimary(any());
+        verify(holdRepository, times(2)).findById(hold.getId());
+    }
+
+    @Test
+    @DisplayName("Should expire due holds with one release per account")
+    void shouldExpireDueHolds() {
+        // Given
+        Hold second = Hold.builder()
+                .id(UUID.randomUUID())
+                .accountId(account.getId())
+                .amount(new BigDecimal("50.0000"))
+                .currency(Currency.GBP)
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+        hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        List<UUID> ids = List.of(hold.getId(), second.getId());
+        when(holdRepository.lockActiveByIdIn(ids)).thenReturn(List.of(hold, second));
+
+        // When
+        int expired = holdService.expire(ids);
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(second.getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        verify(accountRepository).releaseHeld(account.getId(), new BigDecimal("150.0000"));
+    }
+}
@@ -0,0 +1,44 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.config.IdempotencyProperties;
+import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IdempotencyCache Tests")
+class IdempotencyCacheTest {
+
+    @Test
+    @DisplayName("Should forget a key once the retention has passed")
+    void shouldExpireKeysAfterRetention() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        IdempotencyCache cache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofHours(24)), nanos::get);
+        TransactionResponse response = new TransactionResponse(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"),
+                Currency.EUR, TransactionType.CREDIT, TransactionCategory.DEPOSIT, "Deposit", TransactionStatus.COMPLETED, 0,
+                LocalDateTime.now());
+        cache.put("key-1", response);
+
+        // When
+        nanos.addAndGet(Duration.ofHours(23).toNanos());
+        TransactionResponse beforeRetention = cache.get("key-1");
+        nanos.addAndGet(Duration.ofHours(2).toNanos());
+        TransactionResponse afterRetention = cache.get("key-1");
+
+        // Then
+        assertThat(beforeRetention).isSameAs(response);
+        assertThat(afterRetention).isNull();
+    }
+}
@@ -1,19 +1,24 @@
 package net.matheodrd.bankapi.service;
 
-import net.matheodrd.bankapi.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.RiskProperties;
+import net.matheodrd.bankapi.config.VelocityProperties;
+import net.matheodrd.bankapi.model.Money;
 import net.matheodrd.bankapi.model.enums.TransactionStatus;
-import net.matheodrd.bankapi.repository.TransactionRepository;
+import net.matheodrd.bankapi.risk.HighAmountRule;
+import net.matheodrd.bankapi.risk.NightTimeRule;
+import net.matheodrd.bankapi.risk.RiskRuleEngine;
+import net.matheodrd.bankapi.risk.VelocityRule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,9 +32,8 @@ import static org.mockito.Mockito.when;
 class RiskCalculationServiceTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private VelocityTracker velocityTracker;
 
-    @InjectMocks
     private RiskCalculationService riskCalculationService;
 
     private UUID accountId;
@@ -37,6 +41,18 @@ class RiskCalculationServiceTest {
 
     @BeforeEach
     void setUp() {
+        RiskProperties riskProperties = defaultRiskProperties();
+        RiskRuleEngine riskRuleEngine = new RiskRuleEngine(
+                List.of(
+                        new HighAmountRule(riskProperties),
+                        new NightTimeRule(riskProperties),
+                        new VelocityRule(velocityTracker, riskProperties, new VelocityProperties(Duration.ofMinutes(60), true))
+                ),
+                riskProperties,
+                new SimpleMeterRegistry()
+        );
+        riskCalculationService = new RiskCalculationService(riskRuleEngine, riskProperties);
+
         accountId = UUID.randomUUID();
         timestamp = LocalDateTime.of(2025, 1, 15, 14, 30);
     }
@@ -45,9 +61,9 @@ class RiskCalculationServiceTest {
     @DisplayName("Should return 0 risk score for normal transaction")
     void shouldReturnZeroRiskScoreForNormalTransaction() {
         // Given
-        BigDecimal amount = new BigDecimal("100.00");
-        when(transactionRepository.findRecentByAccountId(eq(accountId), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
+        long amount = Money.toMinorUnits(new BigDecimal("100.00"));
+        when(velocityTracker.count(eq(accountId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
 
         // When
         int riskScore = riskCalculationService.calculateRiskScore(accountId, amount, timestamp);
@@ -60,9 +76,9 @@ class RiskCalculationServiceTest {
     @DisplayName("Should add 30 points for high amount (> 10,000)")
     void shouldAdd30PointsForHighAmount() {
         // Given
-        BigDecimal amount = new BigDecimal("15000.00");
-        when(transactionRepository.findRecentByAccountId(eq(accountId), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
+        long amount = Money.toMinorUnits(new BigDecimal("15000.00"));
+        when(velocityTracker.count(eq(accountId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
 
         // When
         int riskScore = riskCalculationService.calculateRiskScore(accountId, amount, timestamp);
@@ -75,10 +91,10 @@ class RiskCalculationServiceTest {
     @DisplayName("Should add 20 points for night transaction (23h-6h)")
     void shouldAdd20PointsForNightTransaction() {
         // Given
-        BigDecimal amount = new BigDecimal("100.00");
+        long amount = Money.toMinorUnits(new BigDecimal("100.00"));
         LocalDateTime nightTime = LocalDateTime.of(2025, 1, 15, 2, 30);
-        when(transactionRepository.findRecentByAccountId(eq(accountId), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
+        when(velocityTracker.count(eq(accountId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
 
         // When
         int riskScore = riskCalculationService.calculateRiskScore(accountId, amount, nightTime);
@@ -91,10 +107,9 @@ class RiskCalculationServiceTest {
     @DisplayName("Should add 40 points for more than 5 transactions in last hour")
     void shouldAdd40PointsForFrequentTransactions() {
         // Given
-        BigDecimal amount = new BigDecimal("100.00");
-        List<Transaction> recentTransactions = createMockTransactions(6);
-        when(transactionRepository.findRecentByAccountId(eq(accountId), any(LocalDateTime.class)))
-                .thenReturn(recentTransactions);
+        long amount = Money.toMinorUnits(new BigDecimal("100.00"));
+        when(velocityTracker.count(eq(accountId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(6);
 
         // When
         int riskScore = riskCalculationService.calculateRiskScore(accountId, amount, timestamp);
@@ -107,11 +122,10 @@ class RiskCalculationServiceTest {
     @DisplayName("Should calculate cumulative risk score")
     void shouldCalculateCumulativeRiskScore() {
         // Given: High amount + night + frequent transactions
-        BigDecimal amount = new BigDecimal("15000.00");
+        long amount = Money.toMinorUnits(new BigDecimal("15000.00"));
         LocalDateTime nightTime = LocalDateTime.of(2025, 1, 15, 23, 30);
-        List<Transaction> recentTransactions = createMockTransactions(6);
-        when(transactionRepository.findRecentByAccountId(eq(accountId), any(LocalDateTime.class)))
-                .thenReturn(recentTransactions);
+        when(velocityTracker.count(eq(accountId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(6);
 
         // When
         int riskScore = riskCalculationService.calculateRiskScore(accountId, amount, nightTime);
@@ -150,15 +164,14 @@ class RiskCalculationServiceTest {
         assertThat(status).isEqualTo(TransactionStatus.COMPLETED);
     }
 
-    // Helper method
-    private List<Transaction> createMockTransactions(int count) {
-        List<Transaction> transactions = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            Transaction transaction = new Transaction();
-            transaction.setId(UUID.randomUUID());
-            transaction.setAccountId(accountId);
-            transactions.add(transaction);
-        }
-        return transactions;
+    private RiskProperties defaultRiskProperties() {
+        return new RiskProperties(
+                70,
+                new RiskProperties.Rules(
+                        new RiskProperties.HighAmount(true, new BigDecimal("10000"), 30),
+                        new RiskProperties.NightTime(true, 23, 6, 20),
+                        new RiskProperties.Velocity(true, Duration.ofHours(1), 5, 40)
+                )
+        );
     }
 }
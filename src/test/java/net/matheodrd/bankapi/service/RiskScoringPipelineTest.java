@@ -0,0 +1,159 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import net.matheodrd.bankapi.config.RiskScoringProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.event.TransactionScoredEvent;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskScoringPipeline Tests")
+class RiskScoringPipelineTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private RiskCalculationService riskCalculationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RiskScoringPipeline pipeline;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        pipeline = new RiskScoringPipeline(
+                transactionRepository,
+                accountRepository,
+                riskCalculationService,
+                transactionTemplate,
+                new AccountLockStripes(new AccountLockProperties(4, true), new SimpleMeterRegistry()),
+                new AccountCache(new NoOpCacheManager()),
+                new ReadConsistency(Duration.ZERO),
+                eventPublisher,
+                new RiskScoringProperties(RiskScoringProperties.Mode.ASYNC, 100, 1, 10, Duration.ofSeconds(30)),
+                new SimpleMeterRegistry()
+        );
+
+        transaction = Transaction.builder()
+                .id(UUID.randomUUID())
+                .accountId(UUID.randomUUID())
+                .amount(new BigDecimal("100.00"))
+                .type(TransactionType.DEBIT)
+                .status(TransactionStatus.PENDING)
+                .riskScore(0)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should complete a PENDING transaction and apply the debit")
+    void shouldCompletePendingTransaction() {
+        // Given
+        List<UUID> ids = List.of(transaction.getId());
+        when(transactionRepository.findAllById(ids)).thenReturn(List.of(transaction));
+        when(transactionRepository.findPendingByIdInForUpdate(ids)).thenReturn(List.of(transaction));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(20);
+        when(riskCalculationService.determineStatus(20)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(transaction.getAccountId(), transaction.getAmount()))
+                .thenReturn(Optional.of(new BigDecimal("900.00")));
+
+        // When
+        pipeline.process(ids);
+
+        // Then
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(transaction.getRiskScore()).isEqualTo(20);
+        verify(eventPublisher).publishEvent(TransactionScoredEvent.of(transaction));
+    }
+
+    @Test
+    @DisplayName("Should reject a PENDING transaction when the debit no longer fits the balance")
+    void shouldRejectPendingTransactionOnInsufficientBalance() {
+        // Given
+        List<UUID> ids = List.of(transaction.getId());
+        when(transactionRepository.findAllById(ids)).thenReturn(List.of(transaction));
+        when(transactionRepository.findPendingByIdInForUpdate(ids)).thenReturn(List.of(transaction));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(transaction.getAccountId(), transaction.getAmount())).thenReturn(Optional.empty());
+
+        // When
+        pipeline.process(ids);
+
+        // Then
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should leave the balance untouched for a FLAGGED transaction")
+    void shouldNotApplyBalanceForFlaggedTransaction() {
+        // Given
+        List<UUID> ids = List.of(transaction.getId());
+        when(transactionRepository.findAllById(ids)).thenReturn(List.of(transaction));
+        when(transactionRepository.findPendingByIdInForUpdate(ids)).thenReturn(List.of(transaction));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(90);
+        when(riskCalculationService.determineStatus(90)).thenReturn(TransactionStatus.FLAGGED);
+
+        // When
+        pipeline.process(ids);
+
+        // Then
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.FLAGGED);
+        verify(accountRepository, never()).debit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip transactions that are no longer PENDING")
+    void shouldSkipAlreadyScoredTransactions() {
+        // Given
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        List<UUID> ids = List.of(transaction.getId());
+        when(transactionRepository.findAllById(ids)).thenReturn(List.of(transaction));
+
+        // When
+        pipeline.process(ids);
+
+        // Then
+        verify(transactionRepository, never()).findPendingByIdInForUpdate(any());
+        verifyNoInteractions(riskCalculationService);
+    }
+}
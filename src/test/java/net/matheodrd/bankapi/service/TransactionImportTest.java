@@ -0,0 +1,142 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
+import net.matheodrd.bankapi.dto.response.TransactionImportResponse;
+import net.matheodrd.bankapi.exception.InvalidImportException;
+import net.matheodrd.bankapi.export.ExportFormat;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Small chunks, so that a few rows already span several COPY transactions
+@SpringBootTest(properties = "bank.transactions.import.chunk-size=2")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Transaction import Tests")
+class TransactionImportTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should load history into its monthly partitions and add it to the balance and the aggregates")
+    void shouldImportHistory() throws Exception {
+        // Given
+        UUID accountId = accountService.create(
+                new CreateAccountRequest("Migrated", new BigDecimal("100.00"), Currency.GBP)).id();
+        String ndjson = """
+                {"accountId":"%1$s","amount":50.25,"currency":"GBP","type":"CREDIT","category":"DEPOSIT","timestamp":"2019-05-02T08:00:00"}
+                {"accountId":"%1$s","amount":20,"currency":"GBP","type":"DEBIT","category":"PAYMENT","description":"Tab\\tand \\\\","timestamp":"2019-05-20T12:30:00"}
+                {"accountId":"%1$s","amount":1000,"currency":"GBP","type":"DEBIT","category":"PAYMENT","status":"REJECTED","riskScore":95,"timestamp":"2019-06-01T00:00:00"}
+                """.formatted(accountId);
+
+        // When
+        TransactionImportResponse response = transactionImportService.importTransactions(
+                ExportFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), false, 0);
+
+        // Then
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.completed()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo("130.25");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions_y2019m05 WHERE account_id = ?", Long.class, accountId)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT description FROM transactions WHERE account_id = ? AND type = 'DEBIT' AND status = 'COMPLETED'",
+                String.class, accountId)).isEqualTo("Tab\tand \\");
+
+        Map<String, Object> stats = jdbcTemplate.queryForMap(
+                "SELECT transaction_count, total_debits, total_credits, last_transaction_at FROM account_stats WHERE account_id = ?",
+                accountId);
+        assertThat(stats.get("transaction_count")).isEqualTo(3L);
+        assertThat((BigDecimal) stats.get("total_debits")).isEqualByComparingTo("1020");
+        assertThat((BigDecimal) stats.get("total_credits")).isEqualByComparingTo("50.25");
+        assertThat(stats.get("last_transaction_at").toString()).startsWith("2019-06-01 00:00");
+    }
+
+    @Test
+    @DisplayName("Should stop at a row for an unknown account and keep the chunks already loaded")
+    void shouldRejectUnknownAccount() {
+        // Given
+        UUID accountId = accountService.create(
+                new CreateAccountRequest("Migrated", BigDecimal.ZERO, Currency.EUR)).id();
+        String csv = "accountId,amount,currency,type,category,timestamp\n"
+                + accountId + ",5,EUR,CREDIT,DEPOSIT,2018-01-01T00:00\n"
+                + accountId + ",5,EUR,CREDIT,DEPOSIT,2018-01-02T00:00\n"
+                + UUID.randomUUID() + ",5,EUR,CREDIT,DEPOSIT,2018-01-03T00:00\n";
+
+        // When/Then
+        assertThatThrownBy(() -> transactionImportService.importTransactions(
+                ExportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false, 0))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("2 rows imported before, resume with skip=2");
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("Should resume after the rows already loaded and refuse ids that are already stored")
+    void shouldResumeWithoutDuplicates() throws Exception {
+        // Given
+        UUID accountId = accountService.create(
+                new CreateAccountRequest("Migrated", BigDecimal.ZERO, Currency.EUR)).id();
+        UUID storedId = UUID.randomUUID();
+        String header = "id,accountId,amount,currency,type,category,timestamp\n";
+        String loaded = storedId + "," + accountId + ",5,EUR,CREDIT,DEPOSIT,2017-03-01T00:00\n"
+                + "," + accountId + ",5,EUR,CREDIT,DEPOSIT,2017-03-02T00:00\n";
+        String csv = header + loaded + "," + accountId + ",7,EUR,CREDIT,DEPOSIT,2017-03-03T00:00\n";
+        transactionImportService.importTransactions(
+                ExportFormat.CSV, new ByteArrayInputStream((header + loaded).getBytes(StandardCharsets.UTF_8)), false, 0);
+
+        // When
+        TransactionImportResponse resumed = transactionImportService.importTransactions(
+                ExportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false, 2);
+
+        // Then
+        assertThat(resumed.skipped()).isEqualTo(2);
+        assertThat(resumed.imported()).isEqualTo(1);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("17");
+        // Generated ids follow the historical timestamps
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE account_id = ? AND id <> ? ORDER BY timestamp",
+                UUID.class, accountId, storedId))
+                .hasSize(2)
+                .isSortedAccordingTo(UUID::compareTo);
+
+        assertThatThrownBy(() -> transactionImportService.importTransactions(
+                ExportFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false, 0))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("already stored");
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo("17");
+    }
+}
@@ -0,0 +1,67 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.config.TransactionPartitionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TransactionPartitionMaintenance Tests")
+class TransactionPartitionMaintenanceTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    @DisplayName("Should create the current month and the configured months ahead")
+    void shouldCreateUpcomingPartitions() {
+        // Given
+        TransactionPartitionMaintenance maintenance =
+                new TransactionPartitionMaintenance(jdbcTemplate, new TransactionPartitionProperties(2, 0));
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(LocalDate.class)))
+                .thenReturn(null, "transactions_next", null);
+
+        // When
+        List<String> created = maintenance.createUpcomingPartitions();
+
+        // Then
+        assertThat(created).containsExactly("transactions_next");
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq(YearMonth.now().atDay(1)));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq(YearMonth.now().plusMonths(2).atDay(1)));
+    }
+
+    @Test
+    @DisplayName("Should only detach monthly partitions older than the retention")
+    void shouldDetachExpiredPartitions() {
+        // Given
+        TransactionPartitionMaintenance maintenance =
+                new TransactionPartitionMaintenance(jdbcTemplate, new TransactionPartitionProperties(3, 12));
+        String expired = partition(YearMonth.now().minusMonths(13));
+        String kept = partition(YearMonth.now().minusMonths(12));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transactions_default", expired, kept, partition(YearMonth.now())));
+
+        // When
+        List<String> detached = maintenance.detachExpiredPartitions();
+
+        // Then
+        assertThat(detached).containsExactly(expired);
+        verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION " + expired);
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    private static String partition(YearMonth month) {
+        return "transactions_" + month.format(PARTITION_SUFFIX);
+    }
+}
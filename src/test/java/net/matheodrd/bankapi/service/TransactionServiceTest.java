@@ -1,26 +1,56 @@
 package net.matheodrd.bankapi.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import net.matheodrd.bankapi.config.IdempotencyProperties;
+import net.matheodrd.bankapi.config.RiskScoringProperties;
+import net.matheodrd.bankapi.config.TransactionBatchProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
 import net.matheodrd.bankapi.dto.request.CreateTransactionRequest;
+import net.matheodrd.bankapi.dto.response.BatchItemResult;
+import net.matheodrd.bankapi.dto.response.BatchTransactionResponse;
+import net.matheodrd.bankapi.dto.response.CursorPageResponse;
 import net.matheodrd.bankapi.dto.response.TransactionResponse;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
 import net.matheodrd.bankapi.exception.AccountSuspendedException;
 import net.matheodrd.bankapi.exception.EntityNotFoundException;
+import net.matheodrd.bankapi.exception.IdempotencyKeyReuseException;
 import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidCursorException;
 import net.matheodrd.bankapi.mapper.TransactionMapper;
 import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.IdempotencyKey;
 import net.matheodrd.bankapi.model.Transaction;
 import net.matheodrd.bankapi.model.enums.*;
+import net.matheodrd.bankapi.pagination.RiskScoreCursor;
+import net.matheodrd.bankapi.pagination.TimestampCursor;
 import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.IdempotencyKeyRepository;
 import net.matheodrd.bankapi.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +58,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,12 +72,49 @@ class TransactionServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountStatsRepository accountStatsRepository;
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(new NoOpCacheManager());
+
+    @Spy
+    private ReadConsistency readConsistency = new ReadConsistency(Duration.ZERO);
+
     @Mock
     private RiskCalculationService riskCalculationService;
 
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private TransactionBatchProperties batchProperties = new TransactionBatchProperties(2);
+
+    @Spy
+    private AccountLockStripes accountLocks = new AccountLockStripes(
+            new AccountLockProperties(4, true),
+            new SimpleMeterRegistry()
+    );
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(
+            new IdempotencyProperties(100, Duration.ofHours(24))
+    );
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private RiskScoringProperties scoringProperties = new RiskScoringProperties(
+            RiskScoringProperties.Mode.SYNC, 100, 1, 10, Duration.ofSeconds(30)
+    );
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -56,6 +125,9 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         account = Account.builder()
                 .id(UUID.randomUUID())
                 .accountNumber("GB29NWBK60161331926819")
@@ -105,8 +177,10 @@ class TransactionServiceTest {
     void shouldCreateTransactionSuccessfully() {
         // Given
         when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
-        when(riskCalculationService.calculateRiskScore(any(), any(), any())).thenReturn(50);
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(50);
         when(riskCalculationService.determineStatus(50)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(account.getId(), new BigDecimal("100.0000")))
+                .thenReturn(Optional.of(new BigDecimal("900.00")));
         when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
                 .thenReturn(transaction);
         when(transactionRepository.save(transaction)).thenReturn(transaction);
@@ -118,8 +192,46 @@ class TransactionServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.status()).isEqualTo(TransactionStatus.COMPLETED);
-        assertThat(account.getBalance()).isEqualTo(new BigDecimal("900.00")); // 1000 - 100
+        verify(accountRepository).debit(account.getId(), new BigDecimal("100.0000"));
+        verify(accountLocks).withLock(eq(account.getId()), any());
         verify(transactionRepository).save(transaction);
+        // The aggregates get the stored transaction's timestamp, not the database clock
+        ArgumentCaptor<LocalDateTime> timestamp = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(transactionMapper).toEntityWithCalculatedFields(any(), any(), any(), anyInt(), timestamp.capture());
+        verify(accountStatsRepository).increment(eq(account.getId()), eq(1L), eq(new BigDecimal("100.0000")), eq(BigDecimal.ZERO), eq(timestamp.getValue()));
+        verify(accountCache).evict(account.getId());
+        verify(eventPublisher).publishEvent(TransactionCreatedEvent.of(transaction));
+    }
+
+    @Test
+    @DisplayName("Should store PENDING transaction without scoring in async mode")
+    void shouldCreatePendingTransactionInAsyncMode() {
+        // Given
+        doReturn(true).when(scoringProperties).async();
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.ACTIVE));
+
+        Transaction pendingTransaction = Transaction.builder()
+                .id(UUID.randomUUID())
+                .accountId(account.getId())
+                .amount(new BigDecimal("100.00"))
+                .type(TransactionType.DEBIT)
+                .status(TransactionStatus.PENDING)
+                .riskScore(0)
+                .build();
+
+        when(transactionMapper.toEntityWithCalculatedFields(any(), any(), eq(TransactionStatus.PENDING), eq(0), any()))
+                .thenReturn(pendingTransaction);
+        when(transactionRepository.save(pendingTransaction)).thenReturn(pendingTransaction);
+        when(transactionMapper.toResponse(pendingTransaction)).thenReturn(transactionResponse);
+
+        // When
+        transactionService.create(transactionRequest);
+
+        // Then
+        verify(riskCalculationService, never()).calculateRiskScore(any(), anyLong(), any());
+        verify(accountRepository, never()).debit(any(), any());
+        verify(eventPublisher).publishEvent(TransactionCreatedEvent.of(pendingTransaction));
     }
 
     @Test
@@ -127,7 +239,8 @@ class TransactionServiceTest {
     void shouldCreateFlaggedTransactionWithoutBalanceUpdate() {
         // Given
         when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
-        when(riskCalculationService.calculateRiskScore(any(), any(), any())).thenReturn(80);
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(80);
         when(riskCalculationService.determineStatus(80)).thenReturn(TransactionStatus.FLAGGED);
 
         Transaction flaggedTransaction = Transaction.builder()
@@ -165,9 +278,25 @@ class TransactionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.status()).isEqualTo(TransactionStatus.FLAGGED);
         assertThat(account.getBalance()).isEqualTo(originalBalance); // Balance unchanged
+        verify(accountRepository, never()).debit(any(), any());
         verify(transactionRepository).save(flaggedTransaction);
     }
 
+    @Test
+    @DisplayName("Should not record a FLAGGED transaction when the account was suspended after being cached")
+    void shouldRecheckStatusWhenNoBalanceChange() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.SUSPENDED));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(80);
+        when(riskCalculationService.determineStatus(80)).thenReturn(TransactionStatus.FLAGGED);
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(transactionRequest))
+                .isInstanceOf(AccountSuspendedException.class);
+        verify(transactionRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Should throw EntityNotFoundException when account not found")
     void shouldThrowExceptionWhenAccountNotFound() {
@@ -241,8 +370,10 @@ class TransactionServiceTest {
                 .build();
 
         when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
-        when(riskCalculationService.calculateRiskScore(any(), any(), any())).thenReturn(0);
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
         when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.credit(account.getId(), new BigDecimal("500.0000")))
+                .thenReturn(Optional.of(new BigDecimal("1500.00")));
         when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
                 .thenReturn(creditTransaction);
         when(transactionRepository.save(creditTransaction)).thenReturn(creditTransaction);
@@ -252,7 +383,43 @@ class TransactionServiceTest {
         transactionService.create(creditRequest);
 
         // Then
-        assertThat(account.getBalance()).isEqualTo(new BigDecimal("1500.00")); // 1000 + 500
+        verify(accountRepository).credit(account.getId(), new BigDecimal("500.0000"));
+        verify(accountRepository, never()).debit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientBalanceException when the conditional debit matches no row")
+    void shouldThrowExceptionWhenConcurrentDebitDrainedBalance() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(account.getId(), new BigDecimal("100.0000"))).thenReturn(Optional.empty());
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.ACTIVE));
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(transactionRequest))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Insufficient balance");
+
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw AccountSuspendedException when the account was suspended concurrently")
+    void shouldThrowExceptionWhenAccountSuspendedConcurrently() {
+        // Given
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(account.getId(), new BigDecimal("100.0000"))).thenReturn(Optional.empty());
+        when(accountRepository.findStatusById(account.getId())).thenReturn(Optional.of(AccountStatus.SUSPENDED));
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(transactionRequest))
+                .isInstanceOf(AccountSuspendedException.class);
+
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
@@ -272,6 +439,60 @@ class TransactionServiceTest {
         verify(transactionRepository).findById(transactionId);
     }
 
+    @Test
+    @DisplayName("Should return next cursor when more transactions follow")
+    void shouldScrollAccountTransactionsWithNextCursor() {
+        // Given
+        Transaction older = Transaction.builder()
+                .id(UUID.randomUUID())
+                .accountId(account.getId())
+                .timestamp(transaction.getTimestamp().minusMinutes(1))
+                .build();
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(eq(account.getId()), argThat(limit -> limit.max() == 2)))
+                .thenReturn(List.of(transaction, older));
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        CursorPageResponse<TransactionResponse> result = transactionService.scrollByAccountId(account.getId(), null, 1, false);
+
+        // Then
+        assertThat(result.content()).containsExactly(transactionResponse);
+        assertThat(result.last()).isFalse();
+        assertThat(result.totalElements()).isNull();
+        assertThat(TimestampCursor.decode(result.nextCursor()))
+                .isEqualTo(new TimestampCursor(transaction.getTimestamp(), transaction.getId()));
+    }
+
+    @Test
+    @DisplayName("Should resume flagged listing after the cursor position")
+    void shouldScrollFlaggedTransactionsFromCursor() {
+        // Given
+        String cursor = new RiskScoreCursor(85, transaction.getId()).encode();
+        when(transactionRepository.findByStatusAfter(eq(TransactionStatus.FLAGGED), eq(85), eq(transaction.getId()), argThat(limit -> limit.max() == 21)))
+                .thenReturn(List.of());
+        when(transactionRepository.countByStatus(TransactionStatus.FLAGGED)).thenReturn(42L);
+
+        // When
+        CursorPageResponse<TransactionResponse> result = transactionService.scrollFlagged(cursor, 20, true);
+
+        // Then
+        assertThat(result.content()).isEmpty();
+        assertThat(result.last()).isTrue();
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.totalElements()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor from another listing")
+    void shouldRejectCursorFromAnotherListing() {
+        // Given
+        String cursor = new RiskScoreCursor(85, transaction.getId()).encode();
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.scrollByAccountId(account.getId(), cursor, 20, false))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     @DisplayName("Should throw exception when transaction not found")
     void shouldThrowExceptionWhenTransactionNotFound() {
@@ -284,4 +505,211 @@ class TransactionServiceTest {
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("Transaction not found");
     }
+
+    @Test
+    @DisplayName("Should read a transaction missing from the replica again from the primary")
+    void shouldRetryMissingTransactionOnPrimary() {
+        // Given
+        UUID transactionId = transaction.getId();
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty(), Optional.of(transaction));
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        TransactionResponse result = transactionService.findById(transactionId);
+
+        // Then
+        assertThat(result).isEqualTo(transactionResponse);
+        verify(transactionRepository, times(2)).findById(transactionId);
+    }
+
+    @Test
+    @DisplayName("Should create batch in chunks and report per-item outcomes")
+    void shouldCreateBatchWithPerItemOutcomes() {
+        // Given
+        UUID unknownAccountId = UUID.randomUUID();
+        CreateTransactionRequest overdraftRequest = new CreateTransactionRequest(
+                account.getId(),
+                new BigDecimal("5000.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.WITHDRAWAL,
+                "Too large"
+        );
+        CreateTransactionRequest unknownAccountRequest = new CreateTransactionRequest(
+                unknownAccountId,
+                new BigDecimal("10.00"),
+                TransactionType.CREDIT,
+                TransactionCategory.DEPOSIT,
+                "Unknown"
+        );
+
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
+                .thenReturn(transaction);
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        BatchTransactionResponse result = transactionService.createBatch(
+                List.of(transactionRequest, overdraftRequest, unknownAccountRequest)
+        );
+
+        // Then
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.results()).extracting(BatchItemResult::status).containsExactly(
+                BatchItemStatus.CREATED,
+                BatchItemStatus.REJECTED_INSUFFICIENT_BALANCE,
+                BatchItemStatus.REJECTED_ACCOUNT_NOT_FOUND
+        );
+        assertThat(account.getBalance()).isEqualByComparingTo("900.00");
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(accountLocks, times(2)).withLocks(any(), any());
+        verify(transactionRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should score a batch chunk before taking the account stripes")
+    void shouldScoreBatchChunkBeforeLocking() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
+                .thenReturn(transaction);
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        transactionService.createBatch(List.of(transactionRequest));
+
+        // Then
+        InOrder inOrder = inOrder(riskCalculationService, accountLocks);
+        inOrder.verify(riskCalculationService).calculateRiskScore(any(), anyLong(), any());
+        inOrder.verify(accountLocks).withLocks(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject batch items for suspended accounts")
+    void shouldRejectBatchItemsForSuspendedAccount() {
+        // Given
+        account.setStatus(AccountStatus.SUSPENDED);
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(account));
+
+        // When
+        BatchTransactionResponse result = transactionService.createBatch(List.of(transactionRequest));
+
+        // Then
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.results().getFirst().status()).isEqualTo(BatchItemStatus.REJECTED_ACCOUNT_SUSPENDED);
+        assertThat(account.getBalance()).isEqualTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Should store the idempotency key with the created transaction")
+    void shouldStoreIdempotencyKeyOnCreate() {
+        // Given
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(account.getId(), new BigDecimal("100.0000")))
+                .thenReturn(Optional.of(new BigDecimal("900.00")));
+        when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
+                .thenReturn(transaction);
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        TransactionResponse first = transactionService.create(transactionRequest, "key-1");
+        TransactionResponse retry = transactionService.create(transactionRequest, "key-1");
+
+        // Then - the retry is answered from memory
+        assertThat(retry).isEqualTo(first);
+        verify(idempotencyKeyRepository).save(any(IdempotencyKey.class));
+        verify(transactionRepository, times(1)).save(transaction);
+        verify(riskCalculationService, times(1)).calculateRiskScore(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored transaction when the key is only known by the database")
+    void shouldReplayTransactionFromDatabase() {
+        // Given
+        when(idempotencyKeyRepository.findById("key-2"))
+                .thenReturn(Optional.of(new IdempotencyKey("key-2", transaction.getId())));
+        when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+
+        // When
+        TransactionResponse result = transactionService.create(transactionRequest, "key-2");
+
+        // Then
+        assertThat(result).isEqualTo(transactionResponse);
+        verify(accountRepository, never()).debit(any(), any());
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(riskCalculationService);
+    }
+
+    @Test
+    @DisplayName("Should answer a concurrent insert of the same idempotency key as a key reuse")
+    void shouldMapIdempotencyKeyConflictToReuse() {
+        // Given
+        stubIdempotentCreate("key-4");
+        when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).thenThrow(integrityViolation("idempotency_keys_pkey"));
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(transactionRequest, "key-4"))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations unrelated to the idempotency key")
+    void shouldRethrowOtherIntegrityViolations() {
+        // Given
+        stubIdempotentCreate("key-5");
+        when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).thenThrow(integrityViolation("fk_transactions_account"));
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(transactionRequest, "key-5"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an idempotency key reused for a different request")
+    void shouldRejectIdempotencyKeyReusedForDifferentRequest() {
+        // Given
+        idempotencyCache.put("key-3", transactionResponse);
+        CreateTransactionRequest otherRequest = new CreateTransactionRequest(
+                account.getId(),
+                new BigDecimal("999.00"),
+                TransactionType.DEBIT,
+                TransactionCategory.PAYMENT,
+                "Other payment"
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> transactionService.create(otherRequest, "key-3"))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+
+        verify(transactionRepository, never()).save(any());
+    }
+
+    private void stubIdempotentCreate(String idempotencyKey) {
+        when(idempotencyKeyRepository.findById(idempotencyKey)).thenReturn(Optional.empty());
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+        when(accountRepository.debit(account.getId(), new BigDecimal("100.0000")))
+                .thenReturn(Optional.of(new BigDecimal("900.00")));
+        when(transactionMapper.toEntityWithCalculatedFields(any(), any(), any(), anyInt(), any()))
+                .thenReturn(transaction);
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        when(transactionMapper.toResponse(transaction)).thenReturn(transactionResponse);
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String constraintName) {
+        SQLException sqlException = new SQLException("duplicate key value violates unique constraint", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
 }
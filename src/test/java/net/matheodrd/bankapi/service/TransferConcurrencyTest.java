@@ -0,0 +1,127 @@
+package net.matheodrd.bankapi.service;
+
+import net.matheodrd.bankapi.dto.request.CreateAccountRequest;
+import net.matheodrd.bankapi.dto.request.CreateTransferRequest;
+import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many threads transferring in both directions between a handful of accounts: every pair overlaps with others,
+// which deadlocks unless locks are taken in a consistent order
+@SpringBootTest(properties = "bank.risk.scoring.mode=sync")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Transfer concurrency Tests")
+class TransferConcurrencyTest {
+
+    private static final int ACCOUNTS = 6;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 100;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.0000");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should complete overlapping transfers without deadlocks and conserve the total balance")
+    void shouldConserveBalanceUnderConcurrentTransfers() throws InterruptedException {
+        // Given
+        List<UUID> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.create(
+                    new CreateAccountRequest("Transfer " + i, INITIAL_BALANCE, Currency.GBP)).id());
+        }
+
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger insufficient = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        int from = random.nextInt(ACCOUNTS);
+                        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 50_000), 2);
+                        try {
+                            transferService.transfer(new CreateTransferRequest(
+                                    accountIds.get(from), accountIds.get(to), amount, null));
+                        } catch (InsufficientBalanceException e) {
+                            insufficient.incrementAndGet();
+                        } catch (Throwable e) {
+                            failures.add(e);
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        }
+
+        // Then
+        assertThat(failures).isEmpty();
+
+        Map<UUID, BigDecimal> balances = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Account::getBalance));
+        BigDecimal total = balances.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+        assertThat(balances.values()).allSatisfy(balance -> assertThat(balance.signum()).isNotNegative());
+
+        // Each balance matches the completed legs recorded for the account
+        for (UUID accountId : accountIds) {
+            BigDecimal net = jdbcTemplate.queryForObject("""
+                    SELECT COALESCE(SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END), 0)
+                    FROM transactions
+                    WHERE account_id = ? AND category = 'TRANSFER' AND status = 'COMPLETED'
+                    """, BigDecimal.class, accountId);
+            assertThat(balances.get(accountId)).isEqualByComparingTo(INITIAL_BALANCE.add(net));
+        }
+
+        Integer legs = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE category = 'TRANSFER'", Integer.class);
+        assertThat(legs).isEqualTo(2 * (THREADS * TRANSFERS_PER_THREAD - insufficient.get()));
+    }
+}
@@ -0,0 +1,191 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.concurrency.AccountLockStripes;
+import net.matheodrd.bankapi.config.AccountLockProperties;
+import net.matheodrd.bankapi.datasource.ReadConsistency;
+import net.matheodrd.bankapi.dto.request.CreateTransferRequest;
+import net.matheodrd.bankapi.dto.response.TransferResponse;
+import net.matheodrd.bankapi.exception.InsufficientBalanceException;
+import net.matheodrd.bankapi.exception.InvalidTransferException;
+import net.matheodrd.bankapi.mapper.TransactionMapper;
+import net.matheodrd.bankapi.model.Account;
+import net.matheodrd.bankapi.model.Transaction;
+import net.matheodrd.bankapi.model.enums.AccountStatus;
+import net.matheodrd.bankapi.model.enums.Currency;
+import net.matheodrd.bankapi.model.enums.TransactionCategory;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.AccountRepository;
+import net.matheodrd.bankapi.repository.AccountStatsRepository;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferService Tests")
+class TransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountStatsRepository accountStatsRepository;
+
+    @Mock
+    private RiskCalculationService riskCalculationService;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private AccountLockStripes accountLocks = new AccountLockStripes(
+            new AccountLockProperties(4, true),
+            new SimpleMeterRegistry()
+    );
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(new NoOpCacheManager());
+
+    @Spy
+    private ReadConsistency readConsistency = new ReadConsistency(Duration.ZERO);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TransferService transferService;
+
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        from = account(new BigDecimal("1000.00"));
+        to = account(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should debit the source, credit the destination and save both legs together")
+    void shouldTransferBetweenAccounts() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(List.of(from.getId(), to.getId()))).thenReturn(List.of(from, to));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(0);
+        when(riskCalculationService.determineStatus(0)).thenReturn(TransactionStatus.COMPLETED);
+
+        // When
+        TransferResponse response = transferService.transfer(request(new BigDecimal("200.00")));
+
+        // Then
+        assertThat(response.status()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(from.getBalance()).isEqualByComparingTo("800.00");
+        assertThat(to.getBalance()).isEqualByComparingTo("250.00");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> legs = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(legs.capture());
+        assertThat(legs.getValue())
+                .extracting(Transaction::getAccountId, Transaction::getType, Transaction::getCategory)
+                .containsExactly(
+                        tuple(from.getId(), TransactionType.DEBIT, TransactionCategory.TRANSFER),
+                        tuple(to.getId(), TransactionType.CREDIT, TransactionCategory.TRANSFER)
+                );
+        verify(accountLocks).withLocks(eq(List.of(from.getId(), to.getId())), any());
+        verify(accountStatsRepository, times(2)).increment(any(), eq(1L), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should record a flagged transfer without moving money")
+    void shouldNotMoveMoneyWhenFlagged() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(from, to));
+        when(riskCalculationService.calculateRiskScore(any(), anyLong(), any())).thenReturn(90);
+        when(riskCalculationService.determineStatus(90)).thenReturn(TransactionStatus.FLAGGED);
+
+        // When
+        TransferResponse response = transferService.transfer(request(new BigDecimal("200.00")));
+
+        // Then
+        assertThat(response.status()).isEqualTo(TransactionStatus.FLAGGED);
+        assertThat(from.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(to.getBalance()).isEqualByComparingTo("50.00");
+        verify(transactionRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer above the source balance")
+    void shouldRejectInsufficientBalance() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(from, to));
+
+        // When / Then
+        assertThatThrownBy(() -> transferService.transfer(request(new BigDecimal("1000.01"))))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject transfers to the same account or across currencies")
+    void shouldRejectInvalidTransfers() {
+        // Given
+        to.setCurrency(Currency.EUR);
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(from, to));
+
+        // When / Then
+        assertThatThrownBy(() -> transferService.transfer(
+                new CreateTransferRequest(from.getId(), from.getId(), BigDecimal.TEN, null)))
+                .isInstanceOf(InvalidTransferException.class);
+        assertThatThrownBy(() -> transferService.transfer(request(BigDecimal.TEN)))
+                .isInstanceOf(InvalidTransferException.class)
+                .hasMessageContaining("currency");
+    }
+
+    private CreateTransferRequest request(BigDecimal amount) {
+        return new CreateTransferRequest(from.getId(), to.getId(), amount, "Rent");
+    }
+
+    private static Account account(BigDecimal balance) {
+        return Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("GB00" + UUID.randomUUID())
+                .accountHolder("Holder")
+                .balance(balance)
+                .currency(Currency.GBP)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package net.matheodrd.bankapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.matheodrd.bankapi.config.VelocityProperties;
+import net.matheodrd.bankapi.event.TransactionCreatedEvent;
+import net.matheodrd.bankapi.model.enums.TransactionStatus;
+import net.matheodrd.bankapi.model.enums.TransactionType;
+import net.matheodrd.bankapi.repository.TransactionRepository;
+import net.matheodrd.bankapi.repository.projection.VelocityBucketProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VelocityTracker Tests")
+class VelocityTrackerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private VelocityTracker velocityTracker;
+
+    private UUID accountId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        velocityTracker = new VelocityTracker(
+                transactionRepository,
+                new VelocityProperties(Duration.ofMinutes(60), true),
+                new SimpleMeterRegistry()
+        );
+        accountId = UUID.randomUUID();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    @Test
+    @DisplayName("Should load history from database on first lookup only")
+    void shouldLoadHistoryOnFirstLookupOnly() {
+        // Given
+        when(transactionRepository.findVelocityBucketsByAccountId(eq(accountId), any(LocalDateTime.class)))
+                .thenReturn(List.of(bucket(now.minusMinutes(10), 3), bucket(now.minusMinutes(2), 2)));
+
+        // When
+        int first = velocityTracker.count(accountId, now.minusHours(1), now);
+        int second = velocityTracker.count(accountId, now.minusHours(1), now);
+
+        // Then
+        assertThat(first).isEqualTo(5);
+        assertThat(second).isEqualTo(5);
+        verify(transactionRepository, times(1)).findVelocityBucketsByAccountId(eq(accountId), any());
+    }
+
+    @Test
+    @DisplayName("Should count committed transactions of a tracked account")
+    void shouldCountCommittedTransactions() {
+        // Given
+        when(transactionRepository.findVelocityBucketsByAccountId(eq(accountId), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        velocityTracker.count(accountId, now.minusHours(1), now);
+
+        // When
+        velocityTracker.onTransactionCreated(event(now));
+        velocityTracker.onTransactionCreated(event(now));
+
+        // Then
+        assertThat(velocityTracker.count(accountId, now.minusHours(1), now)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should exclude buckets outside the requested window")
+    void shouldExcludeBucketsOutsideWindow() {
+        // Given
+        when(transactionRepository.findVelocityBucketsByAccountId(eq(accountId), any(LocalDateTime.class)))
+                .thenReturn(List.of(bucket(now.minusMinutes(50), 4), bucket(now.minusMinutes(5), 1)));
+
+        // When
+        int count = velocityTracker.count(accountId, now.minusMinutes(30), now);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should ignore events for accounts that are not tracked")
+    void shouldIgnoreEventsForUntrackedAccounts() {
+        // Given
+        velocityTracker.onTransactionCreated(event(now));
+        when(transactionRepository.findVelocityBucketsByAccountId(eq(accountId), any(LocalDateTime.class)))
+                .thenReturn(List.of(bucket(now, 1)));
+
+        // When
+        int count = velocityTracker.count(accountId, now.minusHours(1), now);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild windows from database on startup")
+    void shouldRebuildWindowsOnStartup() {
+        // Given
+        when(transactionRepository.findVelocityBuckets(any(LocalDateTime.class)))
+                .thenReturn(List.of(bucket(now.minusMinutes(1), 6)));
+
+        // When
+        velocityTracker.rebuild();
+        int count = velocityTracker.count(accountId, now.minusHours(1), now);
+
+        // Then
+        assertThat(count).isEqualTo(6);
+        verify(transactionRepository, never()).findVelocityBucketsByAccountId(any(), any());
+    }
+
+    private TransactionCreatedEvent event(LocalDateTime timestamp) {
+        return new TransactionCreatedEvent(
+                UUID.randomUUID(),
+                accountId,
+                TransactionType.DEBIT,
+                new BigDecimal("100.00"),
+                TransactionStatus.COMPLETED,
+                timestamp
+        );
+    }
+
+    private VelocityBucketProjection bucket(LocalDateTime minute, long count) {
+        VelocityBucketProjection bucket = mock(VelocityBucketProjection.class);
+        lenient().when(bucket.getAccountId()).thenReturn(accountId);
+        when(bucket.getEpochMinute()).thenReturn(minute.toEpochSecond(ZoneOffset.UTC) / 60);
+        when(bucket.getTransactionCount()).thenReturn(count);
+        return bucket;
+    }
+}